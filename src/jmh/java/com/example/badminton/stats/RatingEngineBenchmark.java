@@ -0,0 +1,73 @@
+package com.example.badminton.stats;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of one {@link RatingEngine#rate} call, the unit of work for both the approval path and a
+ * full replay. Matches are drawn from a fixed pool of players with spread-out ratings and
+ * deviations so Glicko-2's volatility solver sees varied inputs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RatingEngineBenchmark {
+    private static final int PLAYERS = 4096;
+    private static final int MATCHES = 1 << 16;
+
+    @Param({"elo", "glicko2"})
+    public String engineName;
+
+    @Param({"singles", "doubles"})
+    public String format;
+
+    private RatingEngine engine;
+    private RatingTable table;
+    private int[][] winners;
+    private int[][] losers;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = engineName.equals("elo") ? new EloRatingEngine(32) : new Glicko2RatingEngine(0.5);
+        int teamSize = format.equals("singles") ? 1 : 2;
+        Random random = new Random(42);
+
+        winners = new int[MATCHES][];
+        losers = new int[MATCHES][];
+        for (int i = 0; i < MATCHES; i++) {
+            int[] slots = random.ints(0, PLAYERS).distinct().limit(teamSize * 2L).toArray();
+            winners[i] = Arrays.copyOfRange(slots, 0, teamSize);
+            losers[i] = Arrays.copyOfRange(slots, teamSize, teamSize * 2);
+        }
+
+        table = new RatingTable(PLAYERS);
+        for (int slot = 0; slot < PLAYERS; slot++) {
+            table.set(slot, 700 + random.nextDouble() * 600, 50 + random.nextDouble() * 300, RatingEngine.INITIAL_VOLATILITY);
+        }
+    }
+
+    @Benchmark
+    public RatingTable rate() {
+        int i = next;
+        next = (i + 1) & (MATCHES - 1);
+        engine.rate(table, winners[i], losers[i]);
+        return table;
+    }
+}
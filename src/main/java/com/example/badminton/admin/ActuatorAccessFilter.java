@@ -0,0 +1,41 @@
+package com.example.badminton.admin;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Actuator endpoints other than health expose pool, cache and request internals, so they
+ * require the admin token like the {@code /api/admin} endpoints.
+ */
+@Component
+public class ActuatorAccessFilter extends OncePerRequestFilter {
+    private final AdminAccessService adminAccessService;
+
+    public ActuatorAccessFilter(AdminAccessService adminAccessService) {
+        this.adminAccessService = adminAccessService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/actuator") || path.equals("/actuator/health") || path.startsWith("/actuator/health/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            adminAccessService.requireAdmin(request.getHeader(AdminAccessService.ADMIN_TOKEN_HEADER));
+        } catch (ResponseStatusException ex) {
+            response.sendError(ex.getStatusCode().value(), ex.getReason());
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.badminton.admin;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class AdminAccessService {
+    public static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+    private final String adminToken;
+
+    public AdminAccessService(@Value("${app.admin.token:}") String adminToken) {
+        this.adminToken = adminToken == null ? "" : adminToken.trim();
+    }
+
+    public void requireAdmin(String token) {
+        if (adminToken.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Admin access disabled");
+        }
+        if (token == null || !MessageDigest.isEqual(
+                adminToken.getBytes(StandardCharsets.UTF_8),
+                token.trim().getBytes(StandardCharsets.UTF_8))) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Forbidden");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.badminton.admin;
+
+import com.example.badminton.matchlog.InboxCounterRepairJob;
+import com.example.badminton.matchlog.dto.InboxCounterRepairResponse;
+import com.example.badminton.stats.DashboardStatsService;
+import com.example.badminton.stats.RatingReplayJob;
+import com.example.badminton.stats.dto.RankIndexCheckResponse;
+import com.example.badminton.stats.dto.RatingReplayResponse;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+    private static final int MAX_RANK_CHECK_SAMPLE = 1000;
+
+    private final AdminAccessService adminAccessService;
+    private final DashboardStatsService dashboardStatsService;
+    private final InboxCounterRepairJob inboxCounterRepairJob;
+    private final RatingReplayJob ratingReplayJob;
+
+    public AdminController(
+            AdminAccessService adminAccessService,
+            DashboardStatsService dashboardStatsService,
+            InboxCounterRepairJob inboxCounterRepairJob,
+            RatingReplayJob ratingReplayJob
+    ) {
+        this.adminAccessService = adminAccessService;
+        this.dashboardStatsService = dashboardStatsService;
+        this.inboxCounterRepairJob = inboxCounterRepairJob;
+        this.ratingReplayJob = ratingReplayJob;
+    }
+
+    @PostMapping("/stats/rank-index/check")
+    public RankIndexCheckResponse checkRankIndex(
+            @RequestHeader(name = AdminAccessService.ADMIN_TOKEN_HEADER, required = false) String token,
+            @RequestParam(defaultValue = "100") int sample,
+            @RequestParam(defaultValue = "false") boolean repair
+    ) {
+        adminAccessService.requireAdmin(token);
+        return dashboardStatsService.checkRankIndex(Math.min(Math.max(sample, 0), MAX_RANK_CHECK_SAMPLE), repair);
+    }
+
+    @PostMapping("/stats/replay")
+    public RatingReplayResponse replayRatings(
+            @RequestHeader(name = AdminAccessService.ADMIN_TOKEN_HEADER, required = false) String token,
+            @RequestParam(defaultValue = "false") boolean shadow
+    ) {
+        adminAccessService.requireAdmin(token);
+        return ratingReplayJob.replay(shadow);
+    }
+
+    @PostMapping("/match-log/inbox-counters/repair")
+    public InboxCounterRepairResponse repairInboxCounters(
+            @RequestHeader(name = AdminAccessService.ADMIN_TOKEN_HEADER, required = false) String token
+    ) {
+        adminAccessService.requireAdmin(token);
+        return inboxCounterRepairJob.repair();
+    }
+}
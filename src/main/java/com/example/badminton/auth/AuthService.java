@@ -4,8 +4,8 @@ import com.example.badminton.auth.dto.AuthResponse;
 import com.example.badminton.auth.dto.LoginRequest;
 import com.example.badminton.auth.dto.RegisterRequest;
 import com.example.badminton.stats.DashboardStatsService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -14,17 +14,20 @@ public class AuthService {
     private static final String LOGIN_FAILURE_MESSAGE = "Account doesnot exist Or Password incorrect error";
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final DashboardStatsService dashboardStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AuthService(
             UserRepository userRepository,
-            PasswordEncoder passwordEncoder,
-            DashboardStatsService dashboardStatsService
+            PasswordHashingService passwordHashingService,
+            DashboardStatsService dashboardStatsService,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.dashboardStatsService = dashboardStatsService;
+        this.eventPublisher = eventPublisher;
     }
 
     public AuthResponse register(RegisterRequest request) {
@@ -40,9 +43,10 @@ public class AuthService {
         User user = new User();
         user.setEmail(email);
         user.setUsername(username);
-        user.setPasswordHash(passwordEncoder.encode(request.password()));
+        user.setPasswordHash(passwordHashingService.encode(request.password()));
         User saved = userRepository.save(user);
         dashboardStatsService.initializeForUser(saved.getId());
+        eventPublisher.publishEvent(new UserRegisteredEvent(saved.getId(), saved.getUsername()));
 
         return new AuthResponse(saved.getId(), saved.getEmail(), saved.getUsername());
     }
@@ -54,7 +58,7 @@ public class AuthService {
                 .or(() -> userRepository.findByUsername(normalized))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, LOGIN_FAILURE_MESSAGE));
 
-        if (!passwordEncoder.matches(request.password(), user.getPasswordHash())) {
+        if (!passwordHashingService.matches(request.password(), user.getPasswordHash())) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, LOGIN_FAILURE_MESSAGE);
         }
         dashboardStatsService.initializeForUser(user.getId());
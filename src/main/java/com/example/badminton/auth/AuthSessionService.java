@@ -1,5 +1,6 @@
 package com.example.badminton.auth;
 
+import com.example.badminton.config.ReadRoutingContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -13,7 +14,9 @@ public class AuthSessionService {
     }
 
     public Long requireAuthenticatedUserId(String token) {
-        return jwtService.parseUserId(token == null ? "" : token)
+        Long userId = jwtService.parseUserId(token == null ? "" : token)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not authenticated"));
+        ReadRoutingContext.setCurrentUserId(userId);
+        return userId;
     }
 }
@@ -1,9 +1,16 @@
 package com.example.badminton.auth;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Optional;
@@ -15,13 +22,26 @@ import org.springframework.stereotype.Service;
 public class JwtService {
     private final SecretKey secretKey;
     private final long tokenTtlSeconds;
+    private final JwtParser jwtParser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
 
     public JwtService(
             @Value("${app.auth.jwt-secret}") String jwtSecret,
-            @Value("${app.auth.token-ttl-seconds:1209600}") long tokenTtlSeconds
+            @Value("${app.auth.token-ttl-seconds:1209600}") long tokenTtlSeconds,
+            @Value("${app.auth.token-cache-size:10000}") long tokenCacheSize,
+            MeterRegistry meterRegistry
     ) {
         this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
         this.tokenTtlSeconds = tokenTtlSeconds;
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheSize)
+                .expireAfter(new VerifiedTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
     }
 
     public String createToken(Long userId) {
@@ -37,14 +57,25 @@ public class JwtService {
     }
 
     public Optional<Long> parseUserId(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return Optional.of(cached.userId());
+        }
+
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
+            Claims claims = jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
 
-            return Optional.of(Long.parseLong(claims.getSubject()));
+            Long userId = Long.parseLong(claims.getSubject());
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(token, new VerifiedToken(userId, claims.getExpiration().toInstant()));
+            }
+            return Optional.of(userId);
         } catch (Exception ex) {
             return Optional.empty();
         }
@@ -53,4 +84,27 @@ public class JwtService {
     public long getTokenTtlSeconds() {
         return tokenTtlSeconds;
     }
+
+    private record VerifiedToken(Long userId, Instant expiresAt) {}
+
+    /**
+     * Expires each cached token exactly when its {@code exp} claim does, so a cache hit can never
+     * accept a token the parser would reject as expired.
+     */
+    private static final class VerifiedTokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), verified.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, verified, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
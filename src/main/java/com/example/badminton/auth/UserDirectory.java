@@ -0,0 +1,73 @@
+package com.example.badminton.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded cache of user id to display name for building responses. Misses are loaded in bulk
+ * with a query that selects only the name columns, and unknown ids are never cached, so a user
+ * who registers after a lookup is found on the next one.
+ */
+@Component
+public class UserDirectory {
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, String> displayNames;
+
+    public UserDirectory(
+            UserRepository userRepository,
+            @Value("${app.auth.user-directory.max-size:10000}") long maxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.displayNames = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, displayNames, "users.display-names");
+    }
+
+    /**
+     * Returns the display names of the given users; ids that do not belong to a user are absent
+     * from the result.
+     */
+    public Map<Long, String> displayNames(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return displayNames.getAll(userIds, this::load);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        displayNames.invalidate(event.userId());
+    }
+
+    private Map<Long, String> load(Set<? extends Long> userIds) {
+        List<Long> ids = new ArrayList<>(userIds);
+        Map<Long, String> loaded = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + LOAD_CHUNK_SIZE, ids.size()));
+            for (UserRepository.UserName user : userRepository.findNamesByIdIn(chunk)) {
+                loaded.put(user.getId(), displayName(user.getUsername(), user.getEmail()));
+            }
+        }
+        return loaded;
+    }
+
+    private static String displayName(String username, String email) {
+        return username != null && !username.isBlank() ? username : email;
+    }
+}
@@ -0,0 +1,3 @@
+package com.example.badminton.auth;
+
+public record UserRegisteredEvent(Long userId, String username) {}
@@ -1,13 +1,62 @@
 package com.example.badminton.auth;
 
-import java.util.Optional;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
-    List<User> findAllByOrderByUsernameAsc();
+
+    /**
+     * Users are never renamed or deleted, so the count and highest id together change exactly
+     * when the player list does.
+     */
+    @Query("select count(u) as count, coalesce(max(u.id), 0) as maxId from User u")
+    DirectoryVersion findDirectoryVersion();
+
+    @Query("select u.id as id, u.username as username, u.email as email from User u where u.id = :id")
+    Optional<UserName> findNameById(@Param("id") Long id);
+
+    @Query("select u.id as id, u.username as username, u.email as email from User u where u.id in :ids")
+    List<UserName> findNamesByIdIn(@Param("ids") Collection<? extends Long> ids);
+
+    @Query("select u.id as id, u.username as username from User u")
+    List<PlayerOption> findAllOptions();
+
+    @Query("select u.id as id, u.username as username from User u order by u.username")
+    List<PlayerOption> findAllOptionsOrderedByUsername();
+
+    /**
+     * {@code pattern} is a LIKE pattern that uses {@code !} as its escape character.
+     */
+    @Query("select u.id as id, u.username as username from User u "
+            + "where u.username like :pattern escape '!' order by u.username")
+    List<PlayerOption> findOptionsByUsernamePattern(@Param("pattern") String pattern, Pageable pageable);
+
+    interface DirectoryVersion {
+        long getCount();
+
+        long getMaxId();
+    }
+
+    interface PlayerOption {
+        Long getId();
+
+        String getUsername();
+    }
+
+    interface UserName {
+        Long getId();
+
+        String getUsername();
+
+        String getEmail();
+    }
 }
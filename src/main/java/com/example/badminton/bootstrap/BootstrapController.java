@@ -0,0 +1,33 @@
+package com.example.badminton.bootstrap;
+
+import com.example.badminton.auth.AuthConstants;
+import com.example.badminton.auth.AuthSessionService;
+import com.example.badminton.bootstrap.dto.BootstrapResponse;
+import org.springframework.web.bind.annotation.CookieValue;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+public class BootstrapController {
+    private final BootstrapService bootstrapService;
+    private final AuthSessionService authSessionService;
+
+    public BootstrapController(BootstrapService bootstrapService, AuthSessionService authSessionService) {
+        this.bootstrapService = bootstrapService;
+        this.authSessionService = authSessionService;
+    }
+
+    /**
+     * Everything the dashboard needs on first paint: the caller, their stats, pending inbox, the
+     * top of the leaderboard and the player list.
+     */
+    @GetMapping("/bootstrap")
+    public BootstrapResponse bootstrap(
+            @CookieValue(name = AuthConstants.AUTH_COOKIE_NAME, required = false) String token
+    ) {
+        Long userId = authSessionService.requireAuthenticatedUserId(token);
+        return bootstrapService.bootstrap(userId);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.badminton.bootstrap;
+
+import com.example.badminton.auth.UserRepository;
+import com.example.badminton.auth.dto.AuthResponse;
+import com.example.badminton.bootstrap.dto.BootstrapResponse;
+import com.example.badminton.config.ReadRoutingContext;
+import com.example.badminton.matchlog.MatchLogService;
+import com.example.badminton.matchlog.dto.MatchLogRequestPageResponse;
+import com.example.badminton.players.PlayerIndex;
+import com.example.badminton.players.dto.PlayerOptionResponse;
+import com.example.badminton.stats.DashboardStatsService;
+import com.example.badminton.stats.LeaderboardService;
+import com.example.badminton.stats.dto.DashboardStatsResponse;
+import com.example.badminton.stats.dto.LeaderboardPageResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Assembles the dashboard bootstrap. Stats and the leaderboard page are forked onto the task
+ * executor while the caller thread loads the caller's name and the inbox, and takes the player
+ * list from {@link PlayerIndex}; the fan-out is capped by a shared semaphore so a burst of app
+ * opens cannot drain the connection pool, and any read that cannot get a permit simply runs
+ * inline.
+ */
+@Service
+public class BootstrapService {
+    private static final String INBOX_STATUS = "PENDING";
+    private static final int INBOX_LIMIT = 20;
+    private static final int LEADERBOARD_LIMIT = 50;
+
+    private final UserRepository userRepository;
+    private final PlayerIndex playerIndex;
+    private final DashboardStatsService dashboardStatsService;
+    private final LeaderboardService leaderboardService;
+    private final MatchLogService matchLogService;
+    private final AsyncTaskExecutor executor;
+    private final Semaphore parallelReads;
+
+    public BootstrapService(
+            UserRepository userRepository,
+            PlayerIndex playerIndex,
+            DashboardStatsService dashboardStatsService,
+            LeaderboardService leaderboardService,
+            MatchLogService matchLogService,
+            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor,
+            @Value("${app.bootstrap.max-parallel-reads:4}") int maxParallelReads
+    ) {
+        this.userRepository = userRepository;
+        this.playerIndex = playerIndex;
+        this.dashboardStatsService = dashboardStatsService;
+        this.leaderboardService = leaderboardService;
+        this.matchLogService = matchLogService;
+        this.executor = executor;
+        this.parallelReads = new Semaphore(Math.max(0, maxParallelReads));
+    }
+
+    public BootstrapResponse bootstrap(Long userId) {
+        CompletableFuture<DashboardStatsResponse> stats = fork(userId, () -> dashboardStatsService.getDashboardStats(userId));
+        CompletableFuture<LeaderboardPageResponse> leaderboard =
+                fork(userId, () -> leaderboardService.getLeaderboard(null, null, LEADERBOARD_LIMIT));
+
+        UserRepository.UserName self = userRepository.findNameById(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not authenticated"));
+        AuthResponse me = new AuthResponse(self.getId(), self.getEmail(), self.getUsername());
+        List<PlayerOptionResponse> players = playerIndex.all();
+        MatchLogRequestPageResponse inbox = matchLogService.inbox(userId, INBOX_STATUS, null, null, INBOX_LIMIT);
+
+        return new BootstrapResponse(me, join(stats), inbox, join(leaderboard), players);
+    }
+
+    private <T> CompletableFuture<T> fork(Long userId, Supplier<T> read) {
+        if (!parallelReads.tryAcquire()) {
+            return inline(read);
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                ReadRoutingContext.setCurrentUserId(userId);
+                try {
+                    return read.get();
+                } finally {
+                    ReadRoutingContext.clear();
+                    parallelReads.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException ex) {
+            parallelReads.release();
+            return inline(read);
+        }
+    }
+
+    private <T> CompletableFuture<T> inline(Supplier<T> read) {
+        try {
+            return CompletableFuture.completedFuture(read.get());
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.badminton.bootstrap.dto;
+
+import com.example.badminton.auth.dto.AuthResponse;
+import com.example.badminton.matchlog.dto.MatchLogRequestPageResponse;
+import com.example.badminton.players.dto.PlayerOptionResponse;
+import com.example.badminton.stats.dto.DashboardStatsResponse;
+import com.example.badminton.stats.dto.LeaderboardPageResponse;
+import java.util.List;
+
+public record BootstrapResponse(
+        AuthResponse me,
+        DashboardStatsResponse stats,
+        MatchLogRequestPageResponse inbox,
+        LeaderboardPageResponse leaderboard,
+        List<PlayerOptionResponse> players
+) {}
@@ -0,0 +1,23 @@
+package com.example.badminton.config;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Helpers for GET endpoints that answer {@code If-None-Match} with 304. Controllers call
+ * {@code WebRequest.checkNotModified(etag)} before doing any work and wrap the body with
+ * {@link #withETag} otherwise.
+ */
+public final class ConditionalResponses {
+    private static final CacheControl PRIVATE_REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    public static <T> ResponseEntity<T> withETag(String etag, T body) {
+        return ResponseEntity.ok()
+                .cacheControl(PRIVATE_REVALIDATE)
+                .eTag(etag)
+                .body(body);
+    }
+}
@@ -1,35 +1,87 @@
 package com.example.badminton.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.net.URI;
+import java.sql.Connection;
 import javax.sql.DataSource;
-import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 
 @Configuration
 public class DatabaseConfig {
     @Bean
     @Primary
-    public DataSource dataSource(Environment env) {
+    public DataSource dataSource(
+            Environment env,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            RecentWriteTracker recentWriteTracker
+    ) {
+        PoolSettings pool = PoolSettings.from(env);
+        DataSource primary = primaryDataSource(env, pool, meterRegistry);
+
+        String replicaUrl = env.getProperty("DB_REPLICA_URL");
+        if (replicaUrl == null || replicaUrl.isBlank()) {
+            return primary;
+        }
+
+        DataSource replica;
+        if (replicaUrl.startsWith("jdbc:")) {
+            replica = build(
+                    "badminton-replica",
+                    replicaUrl,
+                    env.getProperty("DB_REPLICA_USER", env.getProperty("DB_USER", "badminton")),
+                    env.getProperty("DB_REPLICA_PASSWORD", env.getProperty("DB_PASSWORD", "badminton")),
+                    pool,
+                    meterRegistry
+            );
+        } else {
+            replica = buildFromDatabaseUrl("badminton-replica", replicaUrl, pool, meterRegistry);
+        }
+
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, recentWriteTracker));
+        routing.setDefaultAutoCommit(true);
+        routing.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return routing;
+    }
+
+    private DataSource primaryDataSource(Environment env, PoolSettings pool, ObjectProvider<MeterRegistry> meterRegistry) {
         String dbUrl = env.getProperty("DB_URL");
         String dbUser = env.getProperty("DB_USER");
         String dbPassword = env.getProperty("DB_PASSWORD");
         String databaseUrl = env.getProperty("DATABASE_URL");
 
         if (dbUrl != null && !dbUrl.isBlank()) {
-            return build(dbUrl, dbUser, dbPassword);
+            return build("badminton-primary", dbUrl, dbUser, dbPassword, pool, meterRegistry);
         }
 
         if (databaseUrl != null && !databaseUrl.isBlank()) {
-            return buildFromDatabaseUrl(databaseUrl);
+            return buildFromDatabaseUrl("badminton-primary", databaseUrl, pool, meterRegistry);
         }
 
-        return build("jdbc:postgresql://localhost:5432/badminton", "badminton", "badminton");
+        return build(
+                "badminton-primary",
+                "jdbc:postgresql://localhost:5432/badminton",
+                "badminton",
+                "badminton",
+                pool,
+                meterRegistry
+        );
     }
 
-    private DataSource buildFromDatabaseUrl(String databaseUrl) {
+    private DataSource buildFromDatabaseUrl(
+            String poolName,
+            String databaseUrl,
+            PoolSettings pool,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
         URI uri = URI.create(databaseUrl);
         String[] userInfo = uri.getUserInfo() != null ? uri.getUserInfo().split(":", 2) : new String[0];
         String username = userInfo.length > 0 ? userInfo[0] : null;
@@ -41,17 +93,66 @@ public class DatabaseConfig {
             jdbcUrl += "?" + uri.getQuery();
         }
 
-        return build(jdbcUrl, username, password);
+        return build(poolName, jdbcUrl, username, password, pool, meterRegistry);
     }
 
-    private DataSource build(String url, String username, String password) {
-        DataSourceBuilder<?> builder = DataSourceBuilder.create().url(url);
+    private DataSource build(
+            String poolName,
+            String url,
+            String username,
+            String password,
+            PoolSettings pool,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(url);
         if (username != null && !username.isBlank()) {
-            builder.username(username);
+            config.setUsername(username);
         }
         if (password != null && !password.isBlank()) {
-            builder.password(password);
+            config.setPassword(password);
+        }
+
+        config.setMaximumPoolSize(pool.maxSize());
+        config.setMinimumIdle(Math.min(pool.minIdle(), pool.maxSize()));
+        config.setConnectionTimeout(pool.connectionTimeoutMs());
+        config.setMaxLifetime(pool.maxLifetimeMs());
+        config.setLeakDetectionThreshold(pool.leakDetectionThresholdMs());
+
+        config.addDataSourceProperty("prepareThreshold", pool.prepareThreshold());
+        config.addDataSourceProperty("preparedStatementCacheQueries", pool.preparedStatementCacheQueries());
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", pool.preparedStatementCacheSizeMiB());
+        config.addDataSourceProperty("reWriteBatchedInserts", true);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+        return new HikariDataSource(config);
+    }
+
+    private record PoolSettings(
+            int maxSize,
+            int minIdle,
+            long connectionTimeoutMs,
+            long maxLifetimeMs,
+            long leakDetectionThresholdMs,
+            int prepareThreshold,
+            int preparedStatementCacheQueries,
+            int preparedStatementCacheSizeMiB
+    ) {
+        static PoolSettings from(Environment env) {
+            return new PoolSettings(
+                    env.getProperty("app.datasource.pool.max-size", Integer.class, 10),
+                    env.getProperty("app.datasource.pool.min-idle", Integer.class, 2),
+                    env.getProperty("app.datasource.pool.connection-timeout-ms", Long.class, 10_000L),
+                    env.getProperty("app.datasource.pool.max-lifetime-ms", Long.class, 1_800_000L),
+                    env.getProperty("app.datasource.pool.leak-detection-threshold-ms", Long.class, 60_000L),
+                    env.getProperty("app.datasource.statement-cache.prepare-threshold", Integer.class, 3),
+                    env.getProperty("app.datasource.statement-cache.queries", Integer.class, 256),
+                    env.getProperty("app.datasource.statement-cache.size-mib", Integer.class, 5)
+            );
         }
-        return builder.build();
     }
 }
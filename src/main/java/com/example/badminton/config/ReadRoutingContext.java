@@ -0,0 +1,24 @@
+package com.example.badminton.config;
+
+/**
+ * Holds the authenticated user of the current request so read-only transactions can decide
+ * whether that user may be served from the replica.
+ */
+public final class ReadRoutingContext {
+    private static final ThreadLocal<Long> CURRENT_USER_ID = new ThreadLocal<>();
+
+    private ReadRoutingContext() {
+    }
+
+    public static void setCurrentUserId(Long userId) {
+        CURRENT_USER_ID.set(userId);
+    }
+
+    public static Long currentUserId() {
+        return CURRENT_USER_ID.get();
+    }
+
+    public static void clear() {
+        CURRENT_USER_ID.remove();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.badminton.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+@Component
+public class ReadRoutingInterceptor implements AsyncHandlerInterceptor {
+    private final RecentWriteTracker recentWriteTracker;
+
+    public ReadRoutingInterceptor(RecentWriteTracker recentWriteTracker) {
+        this.recentWriteTracker = recentWriteTracker;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadRoutingContext.clear();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        try {
+            if (!isSafeMethod(request.getMethod())) {
+                recentWriteTracker.markWrite(ReadRoutingContext.currentUserId());
+            }
+        } finally {
+            ReadRoutingContext.clear();
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadRoutingContext.clear();
+    }
+
+    private boolean isSafeMethod(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.badminton.config;
+
+import com.example.badminton.matchlog.MatchLogChangedEvent;
+import com.example.badminton.stats.UserStatsChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Remembers which users wrote recently, so their reads stay on the primary until the replica
+ * has had time to catch up. The acting user of a mutating request, every user whose stats
+ * changed and every participant of a changed match log request are recorded.
+ */
+@Component
+public class RecentWriteTracker {
+    private final Cache<Long, Boolean> recentWriters;
+
+    public RecentWriteTracker(
+            @Value("${app.datasource.replica.read-your-writes-ms:5000}") long readYourWritesMillis,
+            @Value("${app.datasource.replica.tracked-writers:100000}") long maxTrackedWriters
+    ) {
+        this.recentWriters = readYourWritesMillis <= 0
+                ? null
+                : Caffeine.newBuilder()
+                        .maximumSize(maxTrackedWriters)
+                        .expireAfterWrite(Duration.ofMillis(readYourWritesMillis))
+                        .build();
+    }
+
+    public void markWrite(Long userId) {
+        if (recentWriters != null && userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean wroteRecently(Long userId) {
+        return recentWriters != null && userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatsChanged(UserStatsChangedEvent event) {
+        markWrite(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMatchLogChanged(MatchLogChangedEvent event) {
+        event.participantUserIds().forEach(this::markWrite);
+    }
+}
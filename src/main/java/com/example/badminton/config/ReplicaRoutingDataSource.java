@@ -0,0 +1,35 @@
+package com.example.badminton.config;
+
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica unless the current user wrote recently. It must
+ * sit behind a {@code LazyConnectionDataSourceProxy}, because the read-only flag is only known
+ * once the transaction has started, after the JPA transaction manager asked for a connection.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final RecentWriteTracker recentWriteTracker;
+
+    ReplicaRoutingDataSource(DataSource primary, DataSource replica, RecentWriteTracker recentWriteTracker) {
+        this.recentWriteTracker = recentWriteTracker;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.PRIMARY;
+        }
+        return recentWriteTracker.wroteRecently(ReadRoutingContext.currentUserId()) ? Route.PRIMARY : Route.REPLICA;
+    }
+}
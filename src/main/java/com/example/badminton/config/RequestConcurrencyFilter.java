@@ -0,0 +1,74 @@
+package com.example.badminton.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * With virtual threads Tomcat no longer caps concurrent requests, so every burst would queue on
+ * the connection pool until it times out. This filter restores a cap sized against the pool and
+ * rejects overflow with 503 after a short wait. Unless set explicitly, the cap is the pool's
+ * maximum size times {@code app.web.requests-per-connection}. Async dispatches (such as streaming
+ * responses) release their permit as soon as the initial dispatch returns.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class RequestConcurrencyFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(RequestConcurrencyFilter.class);
+
+    private final Semaphore permits;
+    private final long waitMillis;
+
+    public RequestConcurrencyFilter(
+            @Value("${app.web.max-concurrent-requests:0}") int maxConcurrentRequests,
+            @Value("${app.web.requests-per-connection:4}") int requestsPerConnection,
+            @Value("${app.datasource.pool.max-size:10}") int poolMaxSize,
+            @Value("${app.web.concurrency-wait-ms:2000}") long waitMillis
+    ) {
+        int limit = maxConcurrentRequests > 0
+                ? maxConcurrentRequests
+                : Math.max(1, poolMaxSize) * Math.max(1, requestsPerConnection);
+        this.permits = new Semaphore(limit);
+        this.waitMillis = waitMillis;
+        log.info("Limiting concurrent API requests to {} for a pool of {} connections", limit, poolMaxSize);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith("/api/") || path.equals("/api/health");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server busy, please retry");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -4,14 +4,25 @@ import java.util.Arrays;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     private final String allowedOrigins;
+    private final ReadRoutingInterceptor readRoutingInterceptor;
 
-    public WebConfig(@Value("${app.cors.allowed-origins}") String allowedOrigins) {
+    public WebConfig(
+            @Value("${app.cors.allowed-origins}") String allowedOrigins,
+            ReadRoutingInterceptor readRoutingInterceptor
+    ) {
         this.allowedOrigins = allowedOrigins;
+        this.readRoutingInterceptor = readRoutingInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(readRoutingInterceptor).addPathPatterns("/api/**");
     }
 
     @Override
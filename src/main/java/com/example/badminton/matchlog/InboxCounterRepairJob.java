@@ -0,0 +1,33 @@
+package com.example.badminton.matchlog;
+
+import com.example.badminton.matchlog.dto.InboxCounterRepairResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Recomputes the inbox counters from {@code match_log_participants}, correcting any drift.
+ * Runs nightly and can be triggered from the admin API.
+ */
+@Component
+public class InboxCounterRepairJob {
+    private static final Logger log = LoggerFactory.getLogger(InboxCounterRepairJob.class);
+
+    private final UserInboxCounterRepository userInboxCounterRepository;
+
+    public InboxCounterRepairJob(UserInboxCounterRepository userInboxCounterRepository) {
+        this.userInboxCounterRepository = userInboxCounterRepository;
+    }
+
+    @Scheduled(cron = "${app.match-log.inbox-counters.repair-cron:0 30 3 * * *}")
+    @Transactional
+    public InboxCounterRepairResponse repair() {
+        int corrected = userInboxCounterRepository.rebuildPendingCounts();
+        if (corrected > 0) {
+            log.warn("Inbox counter repair corrected {} user(s)", corrected);
+        }
+        return new InboxCounterRepairResponse(corrected);
+    }
+}
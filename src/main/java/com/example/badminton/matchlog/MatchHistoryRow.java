@@ -0,0 +1,22 @@
+package com.example.badminton.matchlog;
+
+import java.time.Instant;
+
+/**
+ * One row of the history projection: an approved request, the viewer's side in it and one of
+ * its participants. Requests with several participants span several consecutive rows.
+ */
+public interface MatchHistoryRow {
+    Long getId();
+    String getMatchName();
+    String getMatchFormat();
+    String getPoints();
+    String getWinnerSide();
+    Long getCreatedByUserId();
+    String getCreatedByUsername();
+    Instant getCreatedAt();
+    String getUserTeamSide();
+    Long getParticipantUserId();
+    String getParticipantTeamSide();
+    String getParticipantUsername();
+}
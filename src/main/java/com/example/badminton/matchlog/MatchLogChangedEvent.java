@@ -0,0 +1,29 @@
+package com.example.badminton.matchlog;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published when a match log request is created or a participant decides on it. Listeners run
+ * after the transaction commits, so subscribers never see changes that were rolled back.
+ */
+public record MatchLogChangedEvent(
+        Long requestId,
+        Type type,
+        String status,
+        Long actorUserId,
+        List<Long> teamUserIds,
+        List<Long> opponentUserIds
+) {
+    public enum Type {
+        CREATED,
+        DECIDED
+    }
+
+    public Set<Long> participantUserIds() {
+        Set<Long> ids = new LinkedHashSet<>(teamUserIds);
+        ids.addAll(opponentUserIds);
+        return ids;
+    }
+}
@@ -2,31 +2,68 @@ package com.example.badminton.matchlog;
 
 import com.example.badminton.auth.AuthConstants;
 import com.example.badminton.auth.AuthSessionService;
+import com.example.badminton.config.ConditionalResponses;
 import com.example.badminton.matchlog.dto.CreateMatchLogRequest;
+import com.example.badminton.matchlog.dto.MatchLogBatchDecisionRequest;
+import com.example.badminton.matchlog.dto.MatchLogBatchDecisionResponse;
 import com.example.badminton.matchlog.dto.MatchLogDecisionRequest;
-import com.example.badminton.matchlog.dto.MatchHistoryItemResponse;
+import com.example.badminton.matchlog.dto.MatchHistoryPageResponse;
+import com.example.badminton.matchlog.dto.MatchLogBulkImportResponse;
+import com.example.badminton.matchlog.dto.MatchLogInboxCountResponse;
+import com.example.badminton.matchlog.dto.MatchLogRequestPageResponse;
 import com.example.badminton.matchlog.dto.MatchLogRequestResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/match-log/requests")
 public class MatchLogController {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final MatchLogService matchLogService;
     private final AuthSessionService authSessionService;
+    private final MatchLogEventBroadcaster eventBroadcaster;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader bulkItemReader;
+    private final int maxBulkItems;
 
-    public MatchLogController(MatchLogService matchLogService, AuthSessionService authSessionService) {
+    public MatchLogController(
+            MatchLogService matchLogService,
+            AuthSessionService authSessionService,
+            MatchLogEventBroadcaster eventBroadcaster,
+            ObjectMapper objectMapper,
+            @Value("${app.match-log.bulk-import.max-items:500}") int maxBulkItems
+    ) {
         this.matchLogService = matchLogService;
         this.authSessionService = authSessionService;
+        this.eventBroadcaster = eventBroadcaster;
+        this.objectMapper = objectMapper;
+        this.bulkItemReader = objectMapper.readerFor(JsonNode.class);
+        this.maxBulkItems = maxBulkItems;
     }
 
     @PostMapping
@@ -39,12 +76,46 @@ public class MatchLogController {
         return matchLogService.createRequest(userId, request);
     }
 
+    /**
+     * Accepts either a JSON array or newline-delimited JSON of create requests.
+     */
+    @PostMapping(path = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public MatchLogBulkImportResponse bulkCreate(
+            @CookieValue(name = AuthConstants.AUTH_COOKIE_NAME, required = false) String token,
+            InputStream body
+    ) {
+        Long userId = authSessionService.requireAuthenticatedUserId(token);
+        return matchLogService.importRequests(userId, readBulkItems(body));
+    }
+
     @GetMapping("/inbox")
-    public List<MatchLogRequestResponse> inbox(
+    public MatchLogRequestPageResponse inbox(
+            @CookieValue(name = AuthConstants.AUTH_COOKIE_NAME, required = false) String token,
+            @RequestParam(defaultValue = "PENDING") String status,
+            @RequestParam(required = false) Instant cursorCreatedAt,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        Long userId = authSessionService.requireAuthenticatedUserId(token);
+        return matchLogService.inbox(userId, status, cursorCreatedAt, cursorId, pageSize(limit));
+    }
+
+    @GetMapping("/inbox/count")
+    public MatchLogInboxCountResponse inboxCount(
             @CookieValue(name = AuthConstants.AUTH_COOKIE_NAME, required = false) String token
     ) {
         Long userId = authSessionService.requireAuthenticatedUserId(token);
-        return matchLogService.inbox(userId);
+        return matchLogService.inboxCount(userId);
+    }
+
+    /**
+     * Streams small {@code match-log} events whenever a request involving the user is created or
+     * decided, so clients can refresh the inbox on demand instead of polling it.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@CookieValue(name = AuthConstants.AUTH_COOKIE_NAME, required = false) String token) {
+        Long userId = authSessionService.requireAuthenticatedUserId(token);
+        return eventBroadcaster.subscribe(userId);
     }
 
     @PostMapping("/{requestId}/decision")
@@ -57,11 +128,52 @@ public class MatchLogController {
         return matchLogService.respond(userId, requestId, request);
     }
 
+    @PostMapping("/decisions")
+    public MatchLogBatchDecisionResponse decideAll(
+            @CookieValue(name = AuthConstants.AUTH_COOKIE_NAME, required = false) String token,
+            @Valid @RequestBody MatchLogBatchDecisionRequest request
+    ) {
+        Long userId = authSessionService.requireAuthenticatedUserId(token);
+        return matchLogService.respondAll(userId, request.decisions());
+    }
+
     @GetMapping("/history")
-    public List<MatchHistoryItemResponse> history(
-            @CookieValue(name = AuthConstants.AUTH_COOKIE_NAME, required = false) String token
+    public ResponseEntity<MatchHistoryPageResponse> history(
+            @CookieValue(name = AuthConstants.AUTH_COOKIE_NAME, required = false) String token,
+            @RequestParam(required = false) Instant cursorCreatedAt,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest webRequest
     ) {
         Long userId = authSessionService.requireAuthenticatedUserId(token);
-        return matchLogService.history(userId);
+        String etag = matchLogService.historyVersion(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ConditionalResponses.withETag(etag, matchLogService.history(userId, cursorCreatedAt, cursorId, pageSize(limit)));
+    }
+
+    private List<CreateMatchLogRequest> readBulkItems(InputStream body) {
+        List<CreateMatchLogRequest> items = new ArrayList<>();
+        try (MappingIterator<JsonNode> iterator = bulkItemReader.readValues(body)) {
+            while (iterator.hasNextValue()) {
+                if (items.size() == maxBulkItems) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxBulkItems + " matches per import");
+                }
+                // A null item is kept so the import can reject it by index.
+                JsonNode item = iterator.nextValue();
+                items.add(item.isNull() ? null : objectMapper.treeToValue(item, CreateMatchLogRequest.class));
+            }
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed import body");
+        }
+        if (items.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No matches to import");
+        }
+        return items;
+    }
+
+    private int pageSize(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
     }
 }
@@ -0,0 +1,343 @@
+package com.example.badminton.matchlog;
+
+import com.example.badminton.matchlog.dto.MatchLogEventResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Keeps the open inbox event streams per user and pushes {@link MatchLogChangedEvent}s to every
+ * participant of the changed request. Idle streams hold no request thread; a periodic comment
+ * keeps proxies from closing them.
+ *
+ * <p>Publishers only enqueue: each stream has a small queue that a dedicated, bounded pool drains,
+ * so a slow client never blocks the committing request or the heartbeat. A stream whose queue
+ * fills up, or that the pool cannot take, is closed and the client reconnects.
+ *
+ * <p>A write to a client that stopped reading blocks its pool thread until the container's write
+ * timeout, and the emitter cannot be completed while that write holds it. A watchdog therefore
+ * closes any stream whose write has been blocked longer than the send timeout and lends the pool
+ * a replacement thread until that write returns, so stalled clients cannot starve the others.
+ */
+@Component
+public class MatchLogEventBroadcaster {
+    private static final String EVENT_NAME = "match-log";
+
+    private final Map<Long, Set<Subscriber>> subscribersByUser = new ConcurrentHashMap<>();
+    // Streams with a write in progress, including ones already closed for falling behind.
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor sender;
+    private final int senderThreads;
+    private final AtomicInteger lentThreads = new AtomicInteger();
+    private final long streamTimeoutMillis;
+    private final long sendTimeoutNanos;
+    private final int maxStreamsPerUser;
+    private final int maxPendingEvents;
+    private final Counter droppedStreams;
+
+    public MatchLogEventBroadcaster(
+            @Value("${app.match-log.events.stream-timeout-ms:1800000}") long streamTimeoutMillis,
+            @Value("${app.match-log.events.max-streams-per-user:5}") int maxStreamsPerUser,
+            @Value("${app.match-log.events.sender-threads:2}") int senderThreads,
+            @Value("${app.match-log.events.sender-queue-capacity:10000}") int senderQueueCapacity,
+            @Value("${app.match-log.events.max-pending-per-stream:32}") int maxPendingEvents,
+            @Value("${app.match-log.events.send-timeout-ms:10000}") long sendTimeoutMillis,
+            MeterRegistry meterRegistry
+    ) {
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.senderThreads = Math.max(1, senderThreads);
+        this.streamTimeoutMillis = streamTimeoutMillis;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        this.maxStreamsPerUser = Math.max(1, maxStreamsPerUser);
+        this.maxPendingEvents = Math.max(1, maxPendingEvents);
+        this.sender = new ThreadPoolExecutor(
+                this.senderThreads,
+                this.senderThreads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, senderQueueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "match-log-events-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        Gauge.builder("match_log.events.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+        this.droppedStreams = Counter.builder("match_log.events.dropped").register(meterRegistry);
+        ExecutorServiceMetrics.monitor(meterRegistry, sender, "match-log-events");
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(streamTimeoutMillis));
+        Set<Subscriber> subscribers = subscribersByUser.compute(userId, (id, existing) -> {
+            Set<Subscriber> set = existing != null ? existing : new CopyOnWriteArraySet<>();
+            set.add(subscriber);
+            return set;
+        });
+        subscriberCount.incrementAndGet();
+
+        SseEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> emitter.complete());
+
+        Iterator<Subscriber> oldest = subscribers.iterator();
+        while (subscribers.size() > maxStreamsPerUser && oldest.hasNext()) {
+            Subscriber stale = oldest.next();
+            if (stale != subscriber) {
+                stale.close();
+            }
+        }
+
+        subscriber.enqueue(SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMatchLogChanged(MatchLogChangedEvent event) {
+        MatchLogEventResponse payload = new MatchLogEventResponse(
+                event.requestId(),
+                event.type().name(),
+                event.status(),
+                event.actorUserId()
+        );
+        for (Long userId : event.participantUserIds()) {
+            Set<Subscriber> subscribers = subscribersByUser.get(userId);
+            if (subscribers == null) {
+                continue;
+            }
+            for (Subscriber subscriber : subscribers) {
+                subscriber.enqueue(SseEmitter.event().name(EVENT_NAME).data(payload, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.match-log.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribersByUser.forEach((userId, subscribers) -> {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.enqueue(SseEmitter.event().comment("ping"));
+            }
+        });
+    }
+
+    /**
+     * Closes streams whose current write has been blocked for longer than the send timeout.
+     */
+    @Scheduled(fixedDelayString = "${app.match-log.events.send-timeout-ms:10000}")
+    public void closeStalledStreams() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : sending) {
+            subscriber.closeIfStalled(now);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    /**
+     * Adds a sender thread while one is stuck in a stalled write, up to as many extra threads as
+     * the pool's own size. Returns false when none is left to lend.
+     */
+    private boolean lendThread() {
+        if (lentThreads.incrementAndGet() > senderThreads) {
+            lentThreads.decrementAndGet();
+            return false;
+        }
+        resizeSender(1);
+        return true;
+    }
+
+    private void returnThread() {
+        lentThreads.decrementAndGet();
+        resizeSender(-1);
+    }
+
+    // The maximum may never drop below the core size, so grow it first and shrink it last.
+    private void resizeSender(int delta) {
+        synchronized (sender) {
+            int size = sender.getMaximumPoolSize() + delta;
+            if (delta > 0) {
+                sender.setMaximumPoolSize(size);
+                sender.setCorePoolSize(size);
+            } else {
+                sender.setCorePoolSize(size);
+                sender.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribersByUser.computeIfPresent(subscriber.userId, (id, subscribers) -> {
+            if (subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    /**
+     * One open stream and the events waiting to be written to it. At most one drain task per
+     * stream is queued or running, which keeps events in order and bounds the pool's queue by
+     * the number of streams.
+     */
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+        private long sendStartedAt;
+        private boolean lent;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            boolean backedUp;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                backedUp = pending.size() >= maxPendingEvents;
+                if (!backedUp) {
+                    pending.add(event);
+                    if (draining) {
+                        return;
+                    }
+                    draining = true;
+                }
+            }
+            if (!backedUp) {
+                try {
+                    sender.execute(this::drain);
+                    return;
+                } catch (RejectedExecutionException ex) {
+                    synchronized (this) {
+                        draining = false;
+                    }
+                }
+            }
+            droppedStreams.increment();
+            close();
+        }
+
+        /**
+         * Stops delivery and completes the stream. When a send is in flight, the drain task
+         * completes it afterwards so the caller never waits on a slow client.
+         */
+        void close() {
+            boolean completeNow;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                pending.clear();
+                completeNow = !draining;
+            }
+            remove(this);
+            if (completeNow) {
+                emitter.complete();
+            }
+        }
+
+        /**
+         * Also covers streams already closed for falling behind, whose last write can still be
+         * holding a pool thread.
+         */
+        void closeIfStalled(long now) {
+            boolean wasClosed;
+            synchronized (this) {
+                if (!sending.contains(this) || lent || now - sendStartedAt < sendTimeoutNanos) {
+                    return;
+                }
+                wasClosed = closed;
+                closed = true;
+                pending.clear();
+                lent = lendThread();
+            }
+            if (!wasClosed) {
+                remove(this);
+                droppedStreams.increment();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                boolean complete;
+                synchronized (this) {
+                    event = closed ? null : pending.poll();
+                    if (event == null) {
+                        draining = false;
+                    }
+                    complete = closed;
+                }
+                if (event == null) {
+                    if (complete) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+                synchronized (this) {
+                    sendStartedAt = System.nanoTime();
+                    sending.add(this);
+                }
+                boolean failed = false;
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException ex) {
+                    failed = true;
+                } finally {
+                    boolean wasLent;
+                    synchronized (this) {
+                        sending.remove(this);
+                        wasLent = lent;
+                        lent = false;
+                        if (failed) {
+                            closed = true;
+                            pending.clear();
+                            draining = false;
+                        }
+                    }
+                    if (wasLent) {
+                        returnThread();
+                    }
+                }
+                if (failed) {
+                    remove(this);
+                    return;
+                }
+            }
+        }
+    }
+}
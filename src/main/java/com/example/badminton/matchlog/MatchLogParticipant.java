@@ -7,6 +7,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 import java.time.Instant;
@@ -18,7 +19,8 @@ import java.time.Instant;
 )
 public class MatchLogParticipant {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "match_log_participants_id_seq")
+    @SequenceGenerator(name = "match_log_participants_id_seq", sequenceName = "match_log_participants_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -105,4 +107,8 @@ public class MatchLogParticipant {
     public Instant getCreatedAt() {
         return createdAt;
     }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
 }
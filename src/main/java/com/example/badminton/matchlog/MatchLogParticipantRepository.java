@@ -3,11 +3,17 @@ package com.example.badminton.matchlog;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface MatchLogParticipantRepository extends JpaRepository<MatchLogParticipant, Long> {
+public interface MatchLogParticipantRepository extends JpaRepository<MatchLogParticipant, Long>, MatchLogParticipantRepositoryCustom {
     List<MatchLogParticipant> findByUserIdOrderByCreatedAtDesc(Long userId);
     List<MatchLogParticipant> findByRequestIdIn(Collection<Long> requestIds);
     List<MatchLogParticipant> findByRequestId(Long requestId);
     Optional<MatchLogParticipant> findByRequestIdAndUserId(Long requestId, Long userId);
+
+    @Query("select distinct p.requestId from MatchLogParticipant p where p.requestId in :requestIds")
+    Set<Long> findExistingRequestIds(@Param("requestIds") Collection<Long> requestIds);
 }
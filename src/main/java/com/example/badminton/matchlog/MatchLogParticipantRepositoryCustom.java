@@ -0,0 +1,20 @@
+package com.example.badminton.matchlog;
+
+public interface MatchLogParticipantRepositoryCustom {
+    /**
+     * Streams, for every ordered pair of users who appeared in the same request, how many
+     * requests they shared on the same side and on opposite sides, with the latest request id.
+     * Rows are handed to {@code handler} as they are read rather than collected.
+     */
+    void streamCoPlayerCounts(CoPlayerCountHandler handler);
+
+    /**
+     * Same as {@link #streamCoPlayerCounts(CoPlayerCountHandler)}, limited to one user's pairs.
+     */
+    void streamCoPlayerCounts(Long userId, CoPlayerCountHandler handler);
+
+    @FunctionalInterface
+    interface CoPlayerCountHandler {
+        void accept(long userId, long coPlayerId, boolean partner, int matches, long lastRequestId);
+    }
+}
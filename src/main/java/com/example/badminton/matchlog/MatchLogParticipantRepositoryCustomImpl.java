@@ -0,0 +1,48 @@
+package com.example.badminton.matchlog;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+public class MatchLogParticipantRepositoryCustomImpl implements MatchLogParticipantRepositoryCustom {
+    private static final String CO_PLAYER_COUNTS = """
+            select me.user_id, other.user_id, other.team_side = me.team_side,
+                   count(*)::int, max(other.request_id)
+            from match_log_participants me
+            join match_log_participants other
+              on other.request_id = me.request_id and other.user_id <> me.user_id
+            %s
+            group by me.user_id, other.user_id, other.team_side = me.team_side
+            """;
+    private static final int FETCH_SIZE = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MatchLogParticipantRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void streamCoPlayerCounts(CoPlayerCountHandler handler) {
+        // pgjdbc only honours the fetch size inside a transaction; the caller provides one.
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(CO_PLAYER_COUNTS.formatted(""));
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, rowHandler(handler));
+    }
+
+    @Override
+    public void streamCoPlayerCounts(Long userId, CoPlayerCountHandler handler) {
+        jdbcTemplate.query(CO_PLAYER_COUNTS.formatted("where me.user_id = ?"), rowHandler(handler), userId);
+    }
+
+    private RowCallbackHandler rowHandler(CoPlayerCountHandler handler) {
+        return (ResultSet rs) -> accept(rs, handler);
+    }
+
+    private void accept(ResultSet rs, CoPlayerCountHandler handler) throws SQLException {
+        handler.accept(rs.getLong(1), rs.getLong(2), rs.getBoolean(3), rs.getInt(4), rs.getLong(5));
+    }
+}
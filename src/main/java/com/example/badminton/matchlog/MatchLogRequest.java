@@ -7,6 +7,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.Instant;
 
@@ -14,7 +15,8 @@ import java.time.Instant;
 @Table(name = "match_log_requests")
 public class MatchLogRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "match_log_requests_id_seq")
+    @SequenceGenerator(name = "match_log_requests_id_seq", sequenceName = "match_log_requests_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -1,6 +1,101 @@
 package com.example.badminton.matchlog;
 
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface MatchLogRequestRepository extends JpaRepository<MatchLogRequest, Long> {
+public interface MatchLogRequestRepository extends JpaRepository<MatchLogRequest, Long>, MatchLogRequestRepositoryCustom {
+    /**
+     * Loads a request together with all of its participants in one query and locks the rows,
+     * so concurrent decisions on the same request are serialized. Each row is
+     * {@code [MatchLogRequest, MatchLogParticipant]}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select r, p from MatchLogRequest r, MatchLogParticipant p
+            where p.requestId = r.id and r.id = :requestId
+            order by p.id
+            """)
+    List<Object[]> findWithParticipantsForUpdate(@Param("requestId") Long requestId);
+
+    /**
+     * Multi-request variant of {@link #findWithParticipantsForUpdate}. Rows are locked in request
+     * id order so concurrent batches cannot deadlock each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select r, p from MatchLogRequest r, MatchLogParticipant p
+            where p.requestId = r.id and r.id in :requestIds
+            order by r.id, p.id
+            """)
+    List<Object[]> findAllWithParticipantsForUpdate(@Param("requestIds") Collection<Long> requestIds);
+
+    /**
+     * Keyset page of the user's requests, newest first. Ordered and filtered on the participant
+     * row's copy of the request's creation time, so the per-user participant index supplies the
+     * order and the scan stops after the page.
+     */
+    @Query("""
+            select r from MatchLogParticipant p
+            join MatchLogRequest r on r.id = p.requestId
+            where p.userId = :userId
+              and r.status in :statuses
+              and (p.createdAt, p.requestId) < (:createdAt, :id)
+            order by p.createdAt desc, p.requestId desc
+            """)
+    List<MatchLogRequest> findInboxPage(
+            @Param("userId") Long userId,
+            @Param("statuses") Collection<String> statuses,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    /**
+     * Keyset page of the user's approved matches, newest first, one row per participant. The page
+     * is cut on the user's own participant rows, ordered by their copy of the request's creation
+     * time, so {@code limit} stops the per-user index scan early.
+     */
+    @Query(value = """
+            with page as (
+                select r.id, r.match_name, r.match_format, r.points, r.winner_side,
+                       r.created_by_user_id, me.created_at, me.team_side as user_team_side
+                from match_log_participants me
+                join match_log_requests r on r.id = me.request_id
+                where me.user_id = :userId
+                  and r.status = 'APPROVED'
+                  and (me.created_at, me.request_id) < (:createdAt, :id)
+                order by me.created_at desc, me.request_id desc
+                limit :limit
+            )
+            select page.id as id,
+                   page.match_name as matchName,
+                   page.match_format as matchFormat,
+                   page.points as points,
+                   page.winner_side as winnerSide,
+                   page.created_by_user_id as createdByUserId,
+                   case when trim(creator.username) <> '' then creator.username else creator.email end as createdByUsername,
+                   page.created_at as createdAt,
+                   page.user_team_side as userTeamSide,
+                   p.user_id as participantUserId,
+                   p.team_side as participantTeamSide,
+                   case when trim(u.username) <> '' then u.username else u.email end as participantUsername
+            from page
+            join match_log_participants p on p.request_id = page.id
+            left join users creator on creator.id = page.created_by_user_id
+            left join users u on u.id = p.user_id
+            order by page.created_at desc, page.id desc, p.id
+            """, nativeQuery = true)
+    List<MatchHistoryRow> findApprovedHistoryPage(
+            @Param("userId") Long userId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            @Param("limit") int limit
+    );
 }
@@ -0,0 +1,16 @@
+package com.example.badminton.matchlog;
+
+public interface MatchLogRequestRepositoryCustom {
+    /**
+     * Streams every participant of every approved request, ordered by request creation time and
+     * then request id, so all rows of one request arrive together. Rows are read through a
+     * server-side cursor and handed to {@code handler} as they arrive, so the history is never
+     * held in memory; the caller must provide a transaction.
+     */
+    void streamApprovedParticipants(ApprovedParticipantHandler handler);
+
+    @FunctionalInterface
+    interface ApprovedParticipantHandler {
+        void accept(long requestId, long userId, boolean won);
+    }
+}
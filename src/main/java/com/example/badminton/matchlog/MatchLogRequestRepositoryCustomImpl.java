@@ -0,0 +1,31 @@
+package com.example.badminton.matchlog;
+
+import java.sql.ResultSet;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class MatchLogRequestRepositoryCustomImpl implements MatchLogRequestRepositoryCustom {
+    private static final String APPROVED_PARTICIPANTS = """
+            select r.id, p.user_id, p.team_side = r.winner_side
+            from match_log_requests r
+            join match_log_participants p on p.request_id = r.id
+            where r.status = 'APPROVED'
+            order by r.created_at, r.id
+            """;
+    private static final int FETCH_SIZE = 10000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MatchLogRequestRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void streamApprovedParticipants(ApprovedParticipantHandler handler) {
+        // pgjdbc only reads through a cursor inside a transaction; the caller provides one.
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(APPROVED_PARTICIPANTS);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, (ResultSet rs) -> handler.accept(rs.getLong(1), rs.getLong(2), rs.getBoolean(3)));
+    }
+}
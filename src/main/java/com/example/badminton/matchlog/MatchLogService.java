@@ -1,22 +1,38 @@
 package com.example.badminton.matchlog;
 
-import com.example.badminton.auth.User;
-import com.example.badminton.auth.UserRepository;
+import com.example.badminton.auth.UserDirectory;
 import com.example.badminton.matchlog.dto.CreateMatchLogRequest;
+import com.example.badminton.matchlog.dto.MatchLogBatchDecisionItem;
+import com.example.badminton.matchlog.dto.MatchLogBatchDecisionItemResponse;
+import com.example.badminton.matchlog.dto.MatchLogBatchDecisionResponse;
 import com.example.badminton.matchlog.dto.MatchLogDecisionRequest;
 import com.example.badminton.matchlog.dto.MatchHistoryItemResponse;
+import com.example.badminton.matchlog.dto.MatchHistoryPageResponse;
+import com.example.badminton.matchlog.dto.MatchLogBulkImportItemResponse;
+import com.example.badminton.matchlog.dto.MatchLogBulkImportResponse;
+import com.example.badminton.matchlog.dto.MatchLogInboxCountResponse;
 import com.example.badminton.matchlog.dto.MatchLogParticipantResponse;
+import com.example.badminton.matchlog.dto.MatchLogRequestPageResponse;
 import com.example.badminton.matchlog.dto.MatchLogRequestResponse;
 import com.example.badminton.stats.DashboardStatsService;
+import com.example.badminton.stats.MatchResult;
+import jakarta.validation.Validator;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,173 +40,215 @@ import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class MatchLogService {
+    private static final Instant CURSOR_START_CREATED_AT = Instant.parse("9999-12-31T23:59:59Z");
+    private static final int IMPORT_CHUNK_SIZE = 50;
+
     private final MatchLogRequestRepository matchLogRequestRepository;
     private final MatchLogParticipantRepository matchLogParticipantRepository;
-    private final UserRepository userRepository;
+    private final UserInboxCounterRepository userInboxCounterRepository;
+    private final UserDirectory userDirectory;
     private final DashboardStatsService dashboardStatsService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
 
     public MatchLogService(
             MatchLogRequestRepository matchLogRequestRepository,
             MatchLogParticipantRepository matchLogParticipantRepository,
-            UserRepository userRepository,
-            DashboardStatsService dashboardStatsService
+            UserInboxCounterRepository userInboxCounterRepository,
+            UserDirectory userDirectory,
+            DashboardStatsService dashboardStatsService,
+            Validator validator,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.matchLogRequestRepository = matchLogRequestRepository;
         this.matchLogParticipantRepository = matchLogParticipantRepository;
-        this.userRepository = userRepository;
+        this.userInboxCounterRepository = userInboxCounterRepository;
+        this.userDirectory = userDirectory;
         this.dashboardStatsService = dashboardStatsService;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public MatchLogRequestResponse createRequest(Long authenticatedUserId, CreateMatchLogRequest request) {
-        MatchFormat format = parseMatchFormat(request.matchFormat());
-        TeamSide winnerSide = parseTeamSide(request.winnerSide());
-        String matchName = normalizeRequired(request.matchName(), "Match name is required");
-        String points = normalizeOptional(request.points());
+        PreparedMatch match = prepareMatch(authenticatedUserId, request);
+        Set<Long> participantIds = match.participantIds();
 
-        List<Long> teamUsers = normalizeUsers(request.teamUserIds());
-        List<Long> opponentUsers = normalizeUsers(request.opponentUserIds());
-
-        if (!teamUsers.contains(authenticatedUserId) && !opponentUsers.contains(authenticatedUserId)) {
-            teamUsers.add(authenticatedUserId);
+        Map<Long, String> namesById = userDirectory.displayNames(participantIds);
+        if (namesById.size() != participantIds.size()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Some selected players do not exist");
         }
 
-        validateTeams(format, teamUsers, opponentUsers);
+        MatchLogRequest savedRequest = matchLogRequestRepository.save(buildRequest(authenticatedUserId, match));
+        List<MatchLogParticipant> participants = buildParticipants(savedRequest, match, authenticatedUserId, Instant.now());
+        matchLogParticipantRepository.saveAll(participants);
+        userInboxCounterRepository.adjustPendingCounts(newlyPendingCounts(participants));
+        publishCreated(savedRequest, match, authenticatedUserId);
 
-        Set<Long> participantIds = new LinkedHashSet<>();
-        participantIds.addAll(teamUsers);
-        participantIds.addAll(opponentUsers);
+        return toResponse(savedRequest, participants, authenticatedUserId, namesById);
+    }
 
-        Map<Long, User> usersById = userRepository.findAllById(participantIds).stream()
-                .collect(Collectors.toMap(User::getId, Function.identity()));
-        if (usersById.size() != participantIds.size()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Some selected players do not exist");
+    /**
+     * Creates many requests at once, applying the same rules as {@link #createRequest}. Invalid
+     * items are reported by index and skipped; valid ones are inserted in batched chunks.
+     */
+    @Transactional
+    public MatchLogBulkImportResponse importRequests(Long authenticatedUserId, List<CreateMatchLogRequest> requests) {
+        MatchLogBulkImportItemResponse[] results = new MatchLogBulkImportItemResponse[requests.size()];
+        Map<Integer, PreparedMatch> prepared = new LinkedHashMap<>();
+        Set<Long> userIds = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateMatchLogRequest request = requests.get(i);
+            String violation = request == null ? "Match is required" : firstViolation(request);
+            if (violation != null) {
+                results[i] = MatchLogBulkImportItemResponse.rejected(i, violation);
+                continue;
+            }
+            try {
+                PreparedMatch match = prepareMatch(authenticatedUserId, request);
+                prepared.put(i, match);
+                userIds.addAll(match.participantIds());
+            } catch (ResponseStatusException ex) {
+                results[i] = MatchLogBulkImportItemResponse.rejected(i, ex.getReason());
+            }
         }
 
-        MatchLogRequest logRequest = new MatchLogRequest();
-        logRequest.setCreatedByUserId(authenticatedUserId);
-        logRequest.setMatchName(matchName);
-        logRequest.setMatchFormat(format.name());
-        logRequest.setWinnerSide(winnerSide.name());
-        logRequest.setPoints(points);
-        logRequest.setStatus(MatchLogStatus.PENDING.name());
-        MatchLogRequest savedRequest = matchLogRequestRepository.save(logRequest);
+        Set<Long> existingUserIds = userDirectory.displayNames(userIds).keySet();
+        List<Map.Entry<Integer, PreparedMatch>> accepted = new ArrayList<>();
+        for (Map.Entry<Integer, PreparedMatch> entry : prepared.entrySet()) {
+            if (existingUserIds.containsAll(entry.getValue().participantIds())) {
+                accepted.add(entry);
+            } else {
+                results[entry.getKey()] = MatchLogBulkImportItemResponse.rejected(
+                        entry.getKey(), "Some selected players do not exist");
+            }
+        }
 
-        List<MatchLogParticipant> participants = new ArrayList<>();
         Instant now = Instant.now();
-
-        for (Long userId : teamUsers) {
-            participants.add(buildParticipant(
-                    savedRequest.getId(),
-                    userId,
-                    TeamSide.TEAM,
-                    winnerSide,
-                    authenticatedUserId,
-                    now
-            ));
-        }
-        for (Long userId : opponentUsers) {
-            participants.add(buildParticipant(
-                    savedRequest.getId(),
-                    userId,
-                    TeamSide.OPPONENT,
-                    winnerSide,
-                    authenticatedUserId,
-                    now
-            ));
+        for (int from = 0; from < accepted.size(); from += IMPORT_CHUNK_SIZE) {
+            List<Map.Entry<Integer, PreparedMatch>> chunk = accepted.subList(from, Math.min(from + IMPORT_CHUNK_SIZE, accepted.size()));
+            List<MatchLogRequest> saved = matchLogRequestRepository.saveAll(chunk.stream()
+                    .map(entry -> buildRequest(authenticatedUserId, entry.getValue()))
+                    .toList());
+
+            List<MatchLogParticipant> participants = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                participants.addAll(buildParticipants(saved.get(i), chunk.get(i).getValue(), authenticatedUserId, now));
+            }
+            matchLogParticipantRepository.saveAll(participants);
+            matchLogParticipantRepository.flush();
+            userInboxCounterRepository.adjustPendingCounts(newlyPendingCounts(participants));
+
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = chunk.get(i).getKey();
+                results[index] = MatchLogBulkImportItemResponse.created(index, saved.get(i).getId());
+                publishCreated(saved.get(i), chunk.get(i).getValue(), authenticatedUserId);
+            }
         }
-        matchLogParticipantRepository.saveAll(participants);
 
-        return toResponse(savedRequest, participants, authenticatedUserId, usersById);
+        return new MatchLogBulkImportResponse(accepted.size(), requests.size() - accepted.size(), Arrays.asList(results));
     }
 
     @Transactional(readOnly = true)
-    public List<MatchLogRequestResponse> inbox(Long authenticatedUserId) {
-        List<MatchLogParticipant> userRows = matchLogParticipantRepository.findByUserIdOrderByCreatedAtDesc(authenticatedUserId);
-        if (userRows.isEmpty()) {
-            return List.of();
+    public MatchLogRequestPageResponse inbox(
+            Long authenticatedUserId,
+            String statusFilter,
+            Instant cursorCreatedAt,
+            Long cursorId,
+            int limit
+    ) {
+        List<String> statuses = parseStatusFilter(statusFilter);
+        if ((cursorCreatedAt == null) != (cursorId == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor requires both createdAt and id");
         }
 
-        List<Long> requestIds = userRows.stream()
-                .map(MatchLogParticipant::getRequestId)
-                .distinct()
-                .toList();
+        List<MatchLogRequest> requests = matchLogRequestRepository.findInboxPage(
+                authenticatedUserId,
+                statuses,
+                cursorCreatedAt == null ? CURSOR_START_CREATED_AT : cursorCreatedAt,
+                cursorId == null ? Long.MAX_VALUE : cursorId,
+                PageRequest.of(0, limit + 1)
+        );
+        if (requests.isEmpty()) {
+            return new MatchLogRequestPageResponse(List.of(), null, null);
+        }
 
-        Map<Long, MatchLogRequest> requestsById = matchLogRequestRepository.findAllById(requestIds).stream()
-                .collect(Collectors.toMap(MatchLogRequest::getId, Function.identity()));
+        boolean hasMore = requests.size() > limit;
+        List<MatchLogRequest> page = hasMore ? requests.subList(0, limit) : requests;
+        List<Long> requestIds = page.stream()
+                .map(MatchLogRequest::getId)
+                .toList();
 
         List<MatchLogParticipant> allParticipants = matchLogParticipantRepository.findByRequestIdIn(requestIds);
         Map<Long, List<MatchLogParticipant>> participantsByRequest = allParticipants.stream()
                 .collect(Collectors.groupingBy(MatchLogParticipant::getRequestId));
 
-        Set<Long> userIds = new LinkedHashSet<>();
-        for (MatchLogParticipant participant : allParticipants) {
-            userIds.add(participant.getUserId());
-        }
-        for (MatchLogRequest request : requestsById.values()) {
-            userIds.add(request.getCreatedByUserId());
-        }
-
-        Map<Long, User> usersById = userRepository.findAllById(userIds).stream()
-                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, String> namesById = userDirectory.displayNames(collectUserIds(allParticipants, page));
 
-        return requestIds.stream()
-                .map(requestsById::get)
-                .filter(request -> request != null)
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
+        List<MatchLogRequestResponse> items = page.stream()
                 .map(request -> toResponse(
                         request,
                         participantsByRequest.getOrDefault(request.getId(), List.of()),
                         authenticatedUserId,
-                        usersById
+                        namesById
                 ))
                 .toList();
+
+        MatchLogRequest last = page.get(page.size() - 1);
+        return hasMore
+                ? new MatchLogRequestPageResponse(items, last.getCreatedAt(), last.getId())
+                : new MatchLogRequestPageResponse(items, null, null);
     }
 
     @Transactional(readOnly = true)
-    public List<MatchHistoryItemResponse> history(Long authenticatedUserId) {
-        List<MatchLogParticipant> userRows = matchLogParticipantRepository.findByUserIdOrderByCreatedAtDesc(authenticatedUserId);
-        if (userRows.isEmpty()) {
-            return List.of();
-        }
+    public MatchLogInboxCountResponse inboxCount(Long authenticatedUserId) {
+        int pending = userInboxCounterRepository.findById(authenticatedUserId)
+                .map(UserInboxCounter::getPendingCount)
+                .orElse(0);
+        return new MatchLogInboxCountResponse(pending);
+    }
 
-        List<Long> requestIds = userRows.stream()
-                .map(MatchLogParticipant::getRequestId)
-                .distinct()
-                .toList();
+    /**
+     * Cheap marker for conditional requests: changes whenever a request involving the user is
+     * created or decided, which is the only way their history can change.
+     */
+    @Transactional(readOnly = true)
+    public String historyVersion(Long authenticatedUserId) {
+        long stamp = userInboxCounterRepository.findById(authenticatedUserId)
+                .map(counter -> ChronoUnit.MICROS.between(Instant.EPOCH, counter.getUpdatedAt()))
+                .orElse(0L);
+        return "h" + authenticatedUserId + "-" + stamp;
+    }
 
-        Map<Long, MatchLogRequest> requestsById = matchLogRequestRepository.findAllById(requestIds).stream()
-                .filter(request -> MatchLogStatus.APPROVED.name().equals(request.getStatus()))
-                .collect(Collectors.toMap(MatchLogRequest::getId, Function.identity()));
-        if (requestsById.isEmpty()) {
-            return List.of();
+    @Transactional(readOnly = true)
+    public MatchHistoryPageResponse history(Long authenticatedUserId, Instant cursorCreatedAt, Long cursorId, int limit) {
+        if ((cursorCreatedAt == null) != (cursorId == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor requires both createdAt and id");
         }
 
-        List<MatchLogParticipant> allParticipants = matchLogParticipantRepository.findByRequestIdIn(requestsById.keySet());
-        Map<Long, List<MatchLogParticipant>> participantsByRequest = allParticipants.stream()
-                .collect(Collectors.groupingBy(MatchLogParticipant::getRequestId));
-
-        Set<Long> userIds = new LinkedHashSet<>();
-        for (MatchLogParticipant participant : allParticipants) {
-            userIds.add(participant.getUserId());
-        }
-        for (MatchLogRequest request : requestsById.values()) {
-            userIds.add(request.getCreatedByUserId());
+        List<MatchHistoryRow> rows = matchLogRequestRepository.findApprovedHistoryPage(
+                authenticatedUserId,
+                cursorCreatedAt == null ? CURSOR_START_CREATED_AT : cursorCreatedAt,
+                cursorId == null ? Long.MAX_VALUE : cursorId,
+                limit + 1
+        );
+        if (rows.isEmpty()) {
+            return new MatchHistoryPageResponse(List.of(), null, null);
         }
 
-        Map<Long, User> usersById = userRepository.findAllById(userIds).stream()
-            .collect(Collectors.toMap(User::getId, Function.identity()));
-
-        return requestsById.values().stream()
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                .map(request -> toHistoryItem(
-                        request,
-                        participantsByRequest.getOrDefault(request.getId(), List.of()),
-                        authenticatedUserId,
-                        usersById
-                ))
-                .filter(item -> item != null)
+        Map<Long, List<MatchHistoryRow>> rowsByRequest = rows.stream()
+                .collect(Collectors.groupingBy(MatchHistoryRow::getId, LinkedHashMap::new, Collectors.toList()));
+        List<MatchHistoryItemResponse> items = rowsByRequest.values().stream()
+                .map(this::toHistoryItem)
                 .toList();
+
+        boolean hasMore = items.size() > limit;
+        List<MatchHistoryItemResponse> page = hasMore ? items.subList(0, limit) : items;
+        MatchHistoryItemResponse last = page.get(page.size() - 1);
+        return hasMore
+                ? new MatchHistoryPageResponse(page, last.createdAt(), last.id())
+                : new MatchHistoryPageResponse(page, null, null);
     }
 
     @Transactional
@@ -199,41 +257,219 @@ public class MatchLogService {
             Long requestId,
             MatchLogDecisionRequest decisionRequest
     ) {
-        MatchLogRequest request = matchLogRequestRepository.findById(requestId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Match log request not found"));
+        List<Object[]> rows = matchLogRequestRepository.findWithParticipantsForUpdate(requestId);
+        if (rows.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Match log request not found");
+        }
+        MatchLogRequest request = (MatchLogRequest) rows.get(0)[0];
+        List<MatchLogParticipant> participants = rows.stream()
+                .map(row -> (MatchLogParticipant) row[1])
+                .toList();
 
-        MatchLogParticipant participant = matchLogParticipantRepository.findByRequestIdAndUserId(requestId, authenticatedUserId)
+        MatchLogParticipant participant = participants.stream()
+                .filter(p -> p.getUserId().equals(authenticatedUserId))
+                .findFirst()
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "You are not part of this match"));
 
         MatchLogDecision decision = parseDecision(decisionRequest.decision());
+        boolean wasPending = MatchLogStatus.PENDING.name().equals(request.getStatus());
+        Map<Long, Integer> pendingDeltas = new HashMap<>();
+        if (applyDecision(request, participants, participant, decision, Instant.now(), pendingDeltas)) {
+            dashboardStatsService.recordMatchResults(List.of(outcomeOf(request, participants)));
+        }
+        if (wasPending && decision != MatchLogDecision.PENDING) {
+            userInboxCounterRepository.adjustPendingCounts(pendingDeltas);
+            publishDecided(request, participants, authenticatedUserId);
+        }
+
+        Map<Long, String> namesById = userDirectory.displayNames(collectUserIds(participants, List.of(request)));
+        return toResponse(request, participants, authenticatedUserId, namesById);
+    }
+
+    /**
+     * Applies several decisions in one transaction. All requests are locked and loaded in a single
+     * query, and the stats of every approved match are written with one grouped update. Items
+     * that cannot be applied are reported individually and do not affect the others.
+     */
+    @Transactional
+    public MatchLogBatchDecisionResponse respondAll(Long authenticatedUserId, List<MatchLogBatchDecisionItem> items) {
+        Set<Long> requestIds = new TreeSet<>();
+        for (MatchLogBatchDecisionItem item : items) {
+            requestIds.add(item.requestId());
+        }
+
+        Map<Long, MatchLogRequest> requestsById = new HashMap<>();
+        Map<Long, List<MatchLogParticipant>> participantsByRequest = new HashMap<>();
+        for (Object[] row : matchLogRequestRepository.findAllWithParticipantsForUpdate(requestIds)) {
+            MatchLogRequest request = (MatchLogRequest) row[0];
+            requestsById.putIfAbsent(request.getId(), request);
+            participantsByRequest.computeIfAbsent(request.getId(), id -> new ArrayList<>()).add((MatchLogParticipant) row[1]);
+        }
+
+        Instant now = Instant.now();
+        List<MatchResult> outcomes = new ArrayList<>();
+        List<MatchLogBatchDecisionItemResponse> results = new ArrayList<>(items.size());
+        Map<Long, Integer> pendingDeltas = new HashMap<>();
+        int applied = 0;
+
+        for (MatchLogBatchDecisionItem item : items) {
+            MatchLogRequest request = requestsById.get(item.requestId());
+            if (request == null) {
+                results.add(new MatchLogBatchDecisionItemResponse(item.requestId(), null, "Match log request not found"));
+                continue;
+            }
+            List<MatchLogParticipant> participants = participantsByRequest.get(item.requestId());
+            MatchLogParticipant participant = participants.stream()
+                    .filter(p -> p.getUserId().equals(authenticatedUserId))
+                    .findFirst()
+                    .orElse(null);
+            if (participant == null) {
+                results.add(new MatchLogBatchDecisionItemResponse(item.requestId(), null, "You are not part of this match"));
+                continue;
+            }
+
+            MatchLogDecision decision;
+            try {
+                decision = parseDecision(item.decision());
+            } catch (ResponseStatusException ex) {
+                results.add(new MatchLogBatchDecisionItemResponse(item.requestId(), request.getStatus(), ex.getReason()));
+                continue;
+            }
+
+            boolean wasPending = MatchLogStatus.PENDING.name().equals(request.getStatus());
+            if (applyDecision(request, participants, participant, decision, now, pendingDeltas)) {
+                outcomes.add(outcomeOf(request, participants));
+            }
+            if (wasPending && decision != MatchLogDecision.PENDING) {
+                publishDecided(request, participants, authenticatedUserId);
+            }
+            results.add(new MatchLogBatchDecisionItemResponse(item.requestId(), request.getStatus(), null));
+            applied++;
+        }
+
+        if (!outcomes.isEmpty()) {
+            dashboardStatsService.recordMatchResults(outcomes);
+        }
+        userInboxCounterRepository.adjustPendingCounts(pendingDeltas);
+        return new MatchLogBatchDecisionResponse(applied, items.size() - applied, results);
+    }
+
+    /**
+     * Records one participant's decision on a locked request and updates the request status.
+     * Inbox counter changes are added to {@code pendingDeltas}. Returns true when this decision
+     * approved the match, so its result still has to be applied.
+     */
+    private boolean applyDecision(
+            MatchLogRequest request,
+            List<MatchLogParticipant> participants,
+            MatchLogParticipant participant,
+            MatchLogDecision decision,
+            Instant now,
+            Map<Long, Integer> pendingDeltas
+    ) {
         MatchLogStatus status = MatchLogStatus.valueOf(request.getStatus());
+        if (status != MatchLogStatus.PENDING || decision == MatchLogDecision.PENDING) {
+            return false;
+        }
+        Set<Long> awaitingBefore = awaitingDecision(request, participants);
+
         boolean isSingles = MatchFormat.SINGLES.name().equalsIgnoreCase(request.getMatchFormat());
+        participant.setDecision(decision.name());
+        participant.setRespondedAt(now);
+        matchLogParticipantRepository.save(participant);
+
+        boolean approved = false;
+        if (decision == MatchLogDecision.REJECTED) {
+            request.setStatus(MatchLogStatus.REJECTED.name());
+            matchLogRequestRepository.save(request);
+        } else if (shouldAutoApprove(request, participants, isSingles)) {
+            request.setStatus(MatchLogStatus.APPROVED.name());
+            matchLogRequestRepository.save(request);
+            approved = true;
+        }
 
-        if (status == MatchLogStatus.PENDING && decision != MatchLogDecision.PENDING) {
-            participant.setDecision(decision.name());
-            participant.setRespondedAt(Instant.now());
-            matchLogParticipantRepository.save(participant);
-
-            if (decision == MatchLogDecision.REJECTED) {
-                request.setStatus(MatchLogStatus.REJECTED.name());
-                matchLogRequestRepository.save(request);
-            } else if (shouldAutoApprove(request, isSingles)) {
-                request.setStatus(MatchLogStatus.APPROVED.name());
-                matchLogRequestRepository.save(request);
-                applyApprovedResult(request);
+        awaitingBefore.removeAll(awaitingDecision(request, participants));
+        for (MatchLogParticipant other : participants) {
+            pendingDeltas.merge(other.getUserId(), awaitingBefore.contains(other.getUserId()) ? -1 : 0, Integer::sum);
+        }
+        return approved;
+    }
+
+    private Set<Long> awaitingDecision(MatchLogRequest request, List<MatchLogParticipant> participants) {
+        Set<Long> userIds = new HashSet<>();
+        if (MatchLogStatus.PENDING.name().equals(request.getStatus())) {
+            for (MatchLogParticipant participant : participants) {
+                if (MatchLogDecision.PENDING.name().equals(participant.getDecision())) {
+                    userIds.add(participant.getUserId());
+                }
             }
         }
+        return userIds;
+    }
 
-        List<MatchLogParticipant> participants = matchLogParticipantRepository.findByRequestId(requestId);
-        Set<Long> userIds = collectUserIds(participants, List.of(request));
-        Map<Long, User> usersById = userRepository.findAllById(userIds).stream()
-                .collect(Collectors.toMap(User::getId, Function.identity()));
+    private Map<Long, Integer> newlyPendingCounts(List<MatchLogParticipant> participants) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        for (MatchLogParticipant participant : participants) {
+            int delta = MatchLogDecision.PENDING.name().equals(participant.getDecision()) ? 1 : 0;
+            deltas.merge(participant.getUserId(), delta, Integer::sum);
+        }
+        return deltas;
+    }
+
+    private PreparedMatch prepareMatch(Long authenticatedUserId, CreateMatchLogRequest request) {
+        MatchFormat format = parseMatchFormat(request.matchFormat());
+        TeamSide winnerSide = parseTeamSide(request.winnerSide());
+        String matchName = normalizeRequired(request.matchName(), "Match name is required");
+        String points = normalizeOptional(request.points());
+
+        List<Long> teamUsers = normalizeUsers(request.teamUserIds());
+        List<Long> opponentUsers = normalizeUsers(request.opponentUserIds());
 
-        return toResponse(request, participants, authenticatedUserId, usersById);
+        if (!teamUsers.contains(authenticatedUserId) && !opponentUsers.contains(authenticatedUserId)) {
+            teamUsers.add(authenticatedUserId);
+        }
+
+        validateTeams(format, teamUsers, opponentUsers);
+        return new PreparedMatch(matchName, format, winnerSide, points, teamUsers, opponentUsers);
+    }
+
+    private String firstViolation(CreateMatchLogRequest request) {
+        return validator.validate(request).stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private MatchLogRequest buildRequest(Long authenticatedUserId, PreparedMatch match) {
+        MatchLogRequest logRequest = new MatchLogRequest();
+        logRequest.setCreatedByUserId(authenticatedUserId);
+        logRequest.setMatchName(match.matchName());
+        logRequest.setMatchFormat(match.format().name());
+        logRequest.setWinnerSide(match.winnerSide().name());
+        logRequest.setPoints(match.points());
+        logRequest.setStatus(MatchLogStatus.PENDING.name());
+        return logRequest;
+    }
+
+    private List<MatchLogParticipant> buildParticipants(
+            MatchLogRequest request,
+            PreparedMatch match,
+            Long authenticatedUserId,
+            Instant now
+    ) {
+        List<MatchLogParticipant> participants = new ArrayList<>();
+        for (Long userId : match.teamUsers()) {
+            participants.add(buildParticipant(request, userId, TeamSide.TEAM, match.winnerSide(), authenticatedUserId, now));
+        }
+        for (Long userId : match.opponentUsers()) {
+            participants.add(buildParticipant(request, userId, TeamSide.OPPONENT, match.winnerSide(), authenticatedUserId, now));
+        }
+        return participants;
     }
 
     private MatchLogParticipant buildParticipant(
-            Long requestId,
+            MatchLogRequest request,
             Long userId,
             TeamSide teamSide,
             TeamSide winnerSide,
@@ -241,8 +477,10 @@ public class MatchLogService {
             Instant now
     ) {
         MatchLogParticipant participant = new MatchLogParticipant();
-        participant.setRequestId(requestId);
+        participant.setRequestId(request.getId());
         participant.setUserId(userId);
+        // Inbox and history page on the participant's copy through its per-user index.
+        participant.setCreatedAt(request.getCreatedAt());
         participant.setTeamSide(teamSide.name());
 
         if (teamSide == winnerSide) {
@@ -277,7 +515,7 @@ public class MatchLogService {
             MatchLogRequest request,
             List<MatchLogParticipant> participants,
             Long viewerId,
-            Map<Long, User> usersById
+            Map<Long, String> namesById
     ) {
         MatchLogParticipant viewerRow = participants.stream()
                 .filter(p -> p.getUserId().equals(viewerId))
@@ -287,7 +525,7 @@ public class MatchLogService {
         List<MatchLogParticipantResponse> participantResponses = participants.stream()
                 .map(participant -> new MatchLogParticipantResponse(
                         participant.getUserId(),
-                        usernameFor(participant.getUserId(), usersById),
+                        usernameFor(participant.getUserId(), namesById),
                         participant.getTeamSide(),
                         participant.getDecision()
                 ))
@@ -307,7 +545,7 @@ public class MatchLogService {
                 request.getPoints(),
                 request.getStatus(),
                 request.getCreatedByUserId(),
-                usernameFor(request.getCreatedByUserId(), usersById),
+                usernameFor(request.getCreatedByUserId(), namesById),
                 request.getCreatedAt(),
                 canRespond,
                 participantResponses
@@ -319,8 +557,7 @@ public class MatchLogService {
                 .allMatch(participant -> MatchLogDecision.ACCEPTED.name().equals(participant.getDecision()));
     }
 
-    private boolean shouldAutoApprove(MatchLogRequest request, boolean isSingles) {
-        List<MatchLogParticipant> participants = matchLogParticipantRepository.findByRequestId(request.getId());
+    private boolean shouldAutoApprove(MatchLogRequest request, List<MatchLogParticipant> participants, boolean isSingles) {
         if (isSingles) {
             return participants.stream()
                     .anyMatch(p ->
@@ -340,14 +577,47 @@ public class MatchLogService {
         return winner == TeamSide.TEAM ? TeamSide.OPPONENT : TeamSide.TEAM;
     }
 
-    private void applyApprovedResult(MatchLogRequest request) {
+    private void publishCreated(MatchLogRequest request, PreparedMatch match, Long actorUserId) {
+        publishChanged(request, MatchLogChangedEvent.Type.CREATED, actorUserId, match.teamUsers(), match.opponentUsers());
+    }
+
+    private void publishDecided(MatchLogRequest request, List<MatchLogParticipant> participants, Long actorUserId) {
+        List<Long> teamUserIds = new ArrayList<>();
+        List<Long> opponentUserIds = new ArrayList<>();
+        for (MatchLogParticipant participant : participants) {
+            if (TeamSide.TEAM.name().equals(participant.getTeamSide())) {
+                teamUserIds.add(participant.getUserId());
+            } else {
+                opponentUserIds.add(participant.getUserId());
+            }
+        }
+        publishChanged(request, MatchLogChangedEvent.Type.DECIDED, actorUserId, teamUserIds, opponentUserIds);
+    }
+
+    private void publishChanged(
+            MatchLogRequest request,
+            MatchLogChangedEvent.Type type,
+            Long actorUserId,
+            List<Long> teamUserIds,
+            List<Long> opponentUserIds
+    ) {
+        eventPublisher.publishEvent(new MatchLogChangedEvent(
+                request.getId(), type, request.getStatus(), actorUserId, List.copyOf(teamUserIds), List.copyOf(opponentUserIds)));
+    }
+
+    private MatchResult outcomeOf(MatchLogRequest request, List<MatchLogParticipant> participants) {
+        List<Long> winnerIds = new ArrayList<>(2);
+        List<Long> loserIds = new ArrayList<>(2);
         TeamSide winner = TeamSide.valueOf(request.getWinnerSide());
-        List<MatchLogParticipant> participants = matchLogParticipantRepository.findByRequestId(request.getId());
         for (MatchLogParticipant participant : participants) {
             TeamSide side = TeamSide.valueOf(participant.getTeamSide());
-            boolean won = side == winner;
-            dashboardStatsService.recordMatchOutcome(participant.getUserId(), won);
+            if (side == winner) {
+                winnerIds.add(participant.getUserId());
+            } else {
+                loserIds.add(participant.getUserId());
+            }
         }
+        return new MatchResult(winnerIds, loserIds);
     }
 
     private Set<Long> collectUserIds(List<MatchLogParticipant> participants, Collection<MatchLogRequest> requests) {
@@ -361,28 +631,16 @@ public class MatchLogService {
         return ids;
     }
 
-    private MatchHistoryItemResponse toHistoryItem(
-            MatchLogRequest request,
-            List<MatchLogParticipant> participants,
-            Long viewerId,
-            Map<Long, User> usersById
-    ) {
-        MatchLogParticipant myRow = participants.stream()
-                .filter(p -> p.getUserId().equals(viewerId))
-                .findFirst()
-                .orElse(null);
-        if (myRow == null) {
-            return null;
-        }
-
-        boolean userWon = myRow.getTeamSide().equals(request.getWinnerSide());
-        List<String> teamUsernames = participants.stream()
-                .filter(p -> p.getTeamSide().equals(TeamSide.TEAM.name()))
-                .map(p -> usernameFor(p.getUserId(), usersById))
+    private MatchHistoryItemResponse toHistoryItem(List<MatchHistoryRow> rows) {
+        MatchHistoryRow request = rows.get(0);
+        boolean userWon = request.getUserTeamSide().equals(request.getWinnerSide());
+        List<String> teamUsernames = rows.stream()
+                .filter(row -> row.getParticipantTeamSide().equals(TeamSide.TEAM.name()))
+                .map(row -> displayName(row.getParticipantUsername(), row.getParticipantUserId()))
                 .toList();
-        List<String> opponentUsernames = participants.stream()
-                .filter(p -> p.getTeamSide().equals(TeamSide.OPPONENT.name()))
-                .map(p -> usernameFor(p.getUserId(), usersById))
+        List<String> opponentUsernames = rows.stream()
+                .filter(row -> row.getParticipantTeamSide().equals(TeamSide.OPPONENT.name()))
+                .map(row -> displayName(row.getParticipantUsername(), row.getParticipantUserId()))
                 .toList();
 
         return new MatchHistoryItemResponse(
@@ -391,10 +649,10 @@ public class MatchLogService {
                 request.getMatchFormat(),
                 request.getPoints(),
                 request.getWinnerSide(),
-                usernameFor(request.getCreatedByUserId(), usersById),
+                displayName(request.getCreatedByUsername(), request.getCreatedByUserId()),
                 request.getCreatedAt(),
                 userWon,
-                myRow.getTeamSide(),
+                request.getUserTeamSide(),
                 teamUsernames,
                 opponentUsernames
         );
@@ -426,6 +684,18 @@ public class MatchLogService {
         }
     }
 
+    private List<String> parseStatusFilter(String value) {
+        String normalized = normalizeRequired(value, "Status is required").toUpperCase();
+        if ("ALL".equals(normalized)) {
+            return Arrays.stream(MatchLogStatus.values()).map(Enum::name).toList();
+        }
+        try {
+            return List.of(MatchLogStatus.valueOf(normalized).name());
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid status");
+        }
+    }
+
     private MatchLogDecision parseDecision(String value) {
         String normalized = normalizeRequired(value, "Decision is required").toUpperCase();
         return switch (normalized) {
@@ -450,14 +720,26 @@ public class MatchLogService {
         return normalized.isEmpty() ? null : normalized;
     }
 
-    private String usernameFor(Long userId, Map<Long, User> usersById) {
-        User user = usersById.get(userId);
-        if (user == null) {
-            return "player-" + userId;
-        }
-        if (user.getUsername() != null && !user.getUsername().isBlank()) {
-            return user.getUsername();
+    private String displayName(String username, Long userId) {
+        return username != null ? username : "player-" + userId;
+    }
+
+    private String usernameFor(Long userId, Map<Long, String> namesById) {
+        return displayName(namesById.get(userId), userId);
+    }
+
+    private record PreparedMatch(
+            String matchName,
+            MatchFormat format,
+            TeamSide winnerSide,
+            String points,
+            List<Long> teamUsers,
+            List<Long> opponentUsers
+    ) {
+        Set<Long> participantIds() {
+            Set<Long> ids = new LinkedHashSet<>(teamUsers);
+            ids.addAll(opponentUsers);
+            return ids;
         }
-        return user.getEmail();
     }
 }
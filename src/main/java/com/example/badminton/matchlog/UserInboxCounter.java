@@ -0,0 +1,32 @@
+package com.example.badminton.matchlog;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+
+@Entity
+@Table(name = "user_inbox_counters")
+public class UserInboxCounter {
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private int pendingCount;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.badminton.matchlog;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface UserInboxCounterRepository extends JpaRepository<UserInboxCounter, Long>, UserInboxCounterRepositoryCustom {
+}
@@ -0,0 +1,18 @@
+package com.example.badminton.matchlog;
+
+import java.util.Map;
+
+public interface UserInboxCounterRepositoryCustom {
+    /**
+     * Adds each delta to the user's pending count in a single statement, creating missing rows.
+     * Counts never drop below zero. Every listed user's {@code updated_at} is stamped, even for
+     * a zero delta, so it also records when a request involving that user last changed.
+     */
+    void adjustPendingCounts(Map<Long, Integer> deltasByUserId);
+
+    /**
+     * Recomputes every counter from {@code match_log_participants} and returns how many rows
+     * were corrected. Blocks counter writers for the duration so no concurrent change is lost.
+     */
+    int rebuildPendingCounts();
+}
@@ -0,0 +1,80 @@
+package com.example.badminton.matchlog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class UserInboxCounterRepositoryCustomImpl implements UserInboxCounterRepositoryCustom {
+    private static final String ADJUST_PREFIX = "with d(user_id, delta) as (values ";
+    private static final String ADJUST_SUFFIX = """
+            )
+            insert into user_inbox_counters (user_id, pending_count, updated_at)
+            select d.user_id, greatest(0, d.delta), now()
+            from d
+            order by d.user_id
+            on conflict (user_id) do update set
+                pending_count = greatest(0, user_inbox_counters.pending_count
+                        + (select d.delta from d where d.user_id = excluded.user_id)),
+                updated_at = excluded.updated_at
+            """;
+    private static final String REBUILD = """
+            with actual as (
+                select p.user_id, count(*)::int as pending_count
+                from match_log_participants p
+                join match_log_requests r on r.id = p.request_id
+                where r.status = 'PENDING' and p.decision = 'PENDING'
+                group by p.user_id
+            ),
+            corrected as (
+                insert into user_inbox_counters (user_id, pending_count, updated_at)
+                select user_id, pending_count, now() from actual
+                on conflict (user_id) do update set
+                    pending_count = excluded.pending_count,
+                    updated_at = excluded.updated_at
+                where user_inbox_counters.pending_count <> excluded.pending_count
+                returning user_id
+            ),
+            zeroed as (
+                update user_inbox_counters c set pending_count = 0, updated_at = now()
+                where c.pending_count <> 0
+                  and not exists (select 1 from actual a where a.user_id = c.user_id)
+                returning c.user_id
+            )
+            select (select count(*) from corrected) + (select count(*) from zeroed)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserInboxCounterRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void adjustPendingCounts(Map<Long, Integer> deltasByUserId) {
+        Map<Long, Integer> ordered = new TreeMap<>(deltasByUserId);
+        if (ordered.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder(ADJUST_PREFIX);
+        List<Object> args = new ArrayList<>(ordered.size() * 2);
+        for (Map.Entry<Long, Integer> entry : ordered.entrySet()) {
+            sql.append(args.isEmpty() ? "(cast(? as bigint), ?)" : ", (?, ?)");
+            args.add(entry.getKey());
+            args.add(entry.getValue());
+        }
+        sql.append(ADJUST_SUFFIX);
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    @Override
+    public int rebuildPendingCounts() {
+        // Waits for in-flight writers and holds new ones back until commit, so the recount
+        // sees every participant row whose counter change it would otherwise overwrite.
+        jdbcTemplate.execute("lock table user_inbox_counters in share row exclusive mode");
+        Long corrected = jdbcTemplate.queryForObject(REBUILD, Long.class);
+        return corrected == null ? 0 : corrected.intValue();
+    }
+}
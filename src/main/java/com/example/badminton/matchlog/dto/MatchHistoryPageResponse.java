@@ -0,0 +1,10 @@
+package com.example.badminton.matchlog.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record MatchHistoryPageResponse(
+        List<MatchHistoryItemResponse> items,
+        Instant nextCursorCreatedAt,
+        Long nextCursorId
+) {}
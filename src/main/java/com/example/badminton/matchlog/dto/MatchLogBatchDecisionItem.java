@@ -0,0 +1,9 @@
+package com.example.badminton.matchlog.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record MatchLogBatchDecisionItem(
+        @NotNull Long requestId,
+        @NotBlank String decision
+) {}
@@ -0,0 +1,7 @@
+package com.example.badminton.matchlog.dto;
+
+public record MatchLogBatchDecisionItemResponse(
+        Long requestId,
+        String status,
+        String error
+) {}
@@ -0,0 +1,11 @@
+package com.example.badminton.matchlog.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record MatchLogBatchDecisionRequest(
+        @NotEmpty @Size(max = 200) List<@NotNull @Valid MatchLogBatchDecisionItem> decisions
+) {}
@@ -0,0 +1,9 @@
+package com.example.badminton.matchlog.dto;
+
+import java.util.List;
+
+public record MatchLogBatchDecisionResponse(
+        int applied,
+        int failed,
+        List<MatchLogBatchDecisionItemResponse> items
+) {}
@@ -0,0 +1,16 @@
+package com.example.badminton.matchlog.dto;
+
+public record MatchLogBulkImportItemResponse(
+        int index,
+        String status,
+        Long requestId,
+        String error
+) {
+    public static MatchLogBulkImportItemResponse created(int index, Long requestId) {
+        return new MatchLogBulkImportItemResponse(index, "CREATED", requestId, null);
+    }
+
+    public static MatchLogBulkImportItemResponse rejected(int index, String error) {
+        return new MatchLogBulkImportItemResponse(index, "REJECTED", null, error);
+    }
+}
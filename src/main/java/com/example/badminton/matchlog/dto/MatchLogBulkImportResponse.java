@@ -0,0 +1,9 @@
+package com.example.badminton.matchlog.dto;
+
+import java.util.List;
+
+public record MatchLogBulkImportResponse(
+        int created,
+        int rejected,
+        List<MatchLogBulkImportItemResponse> items
+) {}
@@ -0,0 +1,8 @@
+package com.example.badminton.matchlog.dto;
+
+public record MatchLogEventResponse(
+        Long requestId,
+        String type,
+        String status,
+        Long actorUserId
+) {}
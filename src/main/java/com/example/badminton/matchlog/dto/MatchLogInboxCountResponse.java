@@ -0,0 +1,3 @@
+package com.example.badminton.matchlog.dto;
+
+public record MatchLogInboxCountResponse(int pending) {}
@@ -0,0 +1,52 @@
+package com.example.badminton.players;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * How often one user has shared a match with each other user, kept in parallel primitive arrays
+ * since most players only ever meet a few dozen others.
+ */
+final class CoPlayerCounts {
+    private long[] userIds = new long[4];
+    private int[] matches = new int[4];
+    private long[] lastRequestIds = new long[4];
+    private int size;
+
+    synchronized void add(long userId, int count, long requestId) {
+        for (int i = 0; i < size; i++) {
+            if (userIds[i] == userId) {
+                matches[i] += count;
+                lastRequestIds[i] = Math.max(lastRequestIds[i], requestId);
+                return;
+            }
+        }
+        if (size == userIds.length) {
+            int capacity = size * 2;
+            userIds = Arrays.copyOf(userIds, capacity);
+            matches = Arrays.copyOf(matches, capacity);
+            lastRequestIds = Arrays.copyOf(lastRequestIds, capacity);
+        }
+        userIds[size] = userId;
+        matches[size] = count;
+        lastRequestIds[size] = requestId;
+        size++;
+    }
+
+    /**
+     * The {@code limit} most frequent co-players, most recent first among equal counts.
+     */
+    synchronized List<Entry> top(int limit) {
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(userIds[i], matches[i], lastRequestIds[i]));
+        }
+        entries.sort((a, b) -> a.matches() != b.matches()
+                ? Integer.compare(b.matches(), a.matches())
+                : Long.compare(b.lastRequestId(), a.lastRequestId()));
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    record Entry(long userId, int matches, long lastRequestId) {}
+}
@@ -3,32 +3,83 @@ package com.example.badminton.players;
 import com.example.badminton.auth.AuthConstants;
 import com.example.badminton.auth.AuthSessionService;
 import com.example.badminton.auth.UserRepository;
+import com.example.badminton.config.ConditionalResponses;
 import com.example.badminton.players.dto.PlayerOptionResponse;
+import com.example.badminton.players.dto.PlayerSuggestionsResponse;
 import java.util.List;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api")
 public class PlayerController {
+    private static final int MAX_SEARCH_LIMIT = 50;
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final UserRepository userRepository;
+    private final PlayerIndex playerIndex;
+    private final PlayerSuggestionIndex playerSuggestionIndex;
     private final AuthSessionService authSessionService;
 
-    public PlayerController(UserRepository userRepository, AuthSessionService authSessionService) {
+    public PlayerController(
+            UserRepository userRepository,
+            PlayerIndex playerIndex,
+            PlayerSuggestionIndex playerSuggestionIndex,
+            AuthSessionService authSessionService
+    ) {
         this.userRepository = userRepository;
+        this.playerIndex = playerIndex;
+        this.playerSuggestionIndex = playerSuggestionIndex;
         this.authSessionService = authSessionService;
     }
 
+    /**
+     * Without {@code q}, every player; with it, up to {@code limit} players whose username starts
+     * with {@code q}.
+     */
     @GetMapping("/players")
-    public List<PlayerOptionResponse> players(
-            @CookieValue(name = AuthConstants.AUTH_COOKIE_NAME, required = false) String token
+    public ResponseEntity<List<PlayerOptionResponse>> players(
+            @CookieValue(name = AuthConstants.AUTH_COOKIE_NAME, required = false) String token,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "20") int limit,
+            WebRequest webRequest
     ) {
         authSessionService.requireAuthenticatedUserId(token);
 
-        return userRepository.findAllByOrderByUsernameAsc().stream()
-                .map(user -> new PlayerOptionResponse(user.getId(), user.getUsername()))
-                .toList();
+        String etag = "pl-" + directoryVersion();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        List<PlayerOptionResponse> players = q == null || q.isBlank()
+                ? playerIndex.all()
+                : playerIndex.search(q, Math.min(Math.max(limit, 1), MAX_SEARCH_LIMIT));
+        return ConditionalResponses.withETag(etag, players);
+    }
+
+    /**
+     * The caller's most frequent partners and opponents, for pre-filling the match form.
+     */
+    @GetMapping("/players/suggestions")
+    public PlayerSuggestionsResponse suggestions(
+            @CookieValue(name = AuthConstants.AUTH_COOKIE_NAME, required = false) String token,
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        Long userId = authSessionService.requireAuthenticatedUserId(token);
+        return playerSuggestionIndex.suggestionsFor(userId, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+    }
+
+    private String directoryVersion() {
+        String indexVersion = playerIndex.versionTag();
+        if (indexVersion != null) {
+            return indexVersion;
+        }
+        UserRepository.DirectoryVersion version = userRepository.findDirectoryVersion();
+        return version.getCount() + "-" + version.getMaxId();
     }
 }
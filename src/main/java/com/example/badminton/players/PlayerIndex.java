@@ -0,0 +1,133 @@
+package com.example.badminton.players;
+
+import com.example.badminton.auth.UserRegisteredEvent;
+import com.example.badminton.auth.UserRepository;
+import com.example.badminton.players.dto.PlayerOptionResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Usernames in sorted order for the player picker and typeahead. Loaded at startup, extended
+ * from {@link UserRegisteredEvent}s, and topped up periodically so users registered through
+ * another instance appear too. Users are never renamed or deleted, so entries are only added.
+ * Users without a username are kept apart; they are listed last, as the database orders nulls,
+ * and never match a search. Until the first load completes, lookups fall back to the database.
+ */
+@Component
+public class PlayerIndex {
+    private static final Logger log = LoggerFactory.getLogger(PlayerIndex.class);
+
+    private final UserRepository userRepository;
+    private final ConcurrentSkipListMap<String, Long> idsByUsername = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListSet<Long> unnamedIds = new ConcurrentSkipListSet<>();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong maxId = new AtomicLong();
+    private final String instanceTag = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    private volatile boolean loaded;
+
+    public PlayerIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+        log.info("Loaded player index with {} players", idsByUsername.size() + unnamedIds.size());
+    }
+
+    /**
+     * Reloads the index when the user table holds users it has not seen. Count and highest id
+     * match exactly when the index is complete, so the usual run costs one aggregate query.
+     */
+    @Scheduled(
+            fixedDelayString = "${app.players.index.refresh-ms:60000}",
+            initialDelayString = "${app.players.index.refresh-ms:60000}"
+    )
+    public void refresh() {
+        UserRepository.DirectoryVersion current = userRepository.findDirectoryVersion();
+        if (loaded && current.getCount() == idsByUsername.size() + unnamedIds.size() && current.getMaxId() == maxId.get()) {
+            return;
+        }
+
+        boolean added = false;
+        for (UserRepository.PlayerOption option : userRepository.findAllOptions()) {
+            added |= add(option.getUsername(), option.getId());
+        }
+        if (added) {
+            version.incrementAndGet();
+        }
+        loaded = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        if (add(event.username(), event.userId())) {
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Opaque tag that changes whenever a player is added, or null until loaded.
+     */
+    public String versionTag() {
+        return loaded ? instanceTag + "." + version.get() : null;
+    }
+
+    public List<PlayerOptionResponse> all() {
+        if (!loaded) {
+            return userRepository.findAllOptionsOrderedByUsername().stream()
+                    .map(option -> new PlayerOptionResponse(option.getId(), option.getUsername()))
+                    .toList();
+        }
+        List<PlayerOptionResponse> players = new ArrayList<>(idsByUsername.size() + unnamedIds.size());
+        idsByUsername.forEach((username, id) -> players.add(new PlayerOptionResponse(id, username)));
+        unnamedIds.forEach(id -> players.add(new PlayerOptionResponse(id, null)));
+        return players;
+    }
+
+    /**
+     * Players whose username starts with {@code prefix}, ignoring case, in username order.
+     */
+    public List<PlayerOptionResponse> search(String prefix, int limit) {
+        String normalized = prefix.trim().toLowerCase(Locale.ROOT);
+        if (!loaded) {
+            String pattern = normalized.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+            return userRepository.findOptionsByUsernamePattern(pattern, PageRequest.of(0, limit)).stream()
+                    .map(option -> new PlayerOptionResponse(option.getId(), option.getUsername()))
+                    .toList();
+        }
+
+        List<PlayerOptionResponse> players = new ArrayList<>(Math.min(limit, 64));
+        for (Map.Entry<String, Long> entry : idsByUsername.tailMap(normalized).entrySet()) {
+            if (players.size() >= limit || !entry.getKey().startsWith(normalized)) {
+                break;
+            }
+            players.add(new PlayerOptionResponse(entry.getValue(), entry.getKey()));
+        }
+        return players;
+    }
+
+    private boolean add(String username, Long id) {
+        boolean added = username == null ? unnamedIds.add(id) : idsByUsername.putIfAbsent(username, id) == null;
+        if (!added) {
+            return false;
+        }
+        maxId.accumulateAndGet(id, Math::max);
+        return true;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.badminton.players;
+
+import com.example.badminton.auth.UserDirectory;
+import com.example.badminton.matchlog.MatchLogChangedEvent;
+import com.example.badminton.matchlog.MatchLogParticipantRepository;
+import com.example.badminton.players.dto.PlayerSuggestionResponse;
+import com.example.badminton.players.dto.PlayerSuggestionsResponse;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Each user's most frequent partners and opponents, for the match-logging form. Built from
+ * {@code match_log_participants} at startup and on a schedule, and patched from every created
+ * request in between. Requests created through other instances appear after the next rebuild.
+ */
+@Component
+public class PlayerSuggestionIndex {
+    private static final Logger log = LoggerFactory.getLogger(PlayerSuggestionIndex.class);
+
+    private final MatchLogParticipantRepository matchLogParticipantRepository;
+    private final UserDirectory userDirectory;
+    private final TransactionTemplate rebuildTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Map<Long, CoPlayers> byUser;
+    private List<MatchLogChangedEvent> createdDuringRebuild;
+
+    public PlayerSuggestionIndex(
+            MatchLogParticipantRepository matchLogParticipantRepository,
+            UserDirectory userDirectory,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.matchLogParticipantRepository = matchLogParticipantRepository;
+        this.userDirectory = userDirectory;
+        // Runs on the primary: a replica snapshot could miss requests whose events were
+        // already applied to the index being replaced.
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${app.players.suggestions.rebuild-cron:0 45 3 * * *}")
+    public void rebuild() {
+        writeLock.lock();
+        try {
+            createdDuringRebuild = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        Map<Long, CoPlayers> rebuilt = new ConcurrentHashMap<>();
+        rebuildTransaction.executeWithoutResult(status -> {
+            matchLogParticipantRepository.streamCoPlayerCounts((userId, coPlayerId, partner, matches, lastRequestId) -> {
+                CoPlayers coPlayers = rebuilt.computeIfAbsent(userId, id -> new CoPlayers());
+                (partner ? coPlayers.partners() : coPlayers.opponents()).add(coPlayerId, matches, lastRequestId);
+            });
+
+            // Requests created since the rebuild started are counted only if this snapshot
+            // missed them; checking in the same transaction sees exactly what was aggregated.
+            writeLock.lock();
+            try {
+                List<MatchLogChangedEvent> pending = createdDuringRebuild;
+                Set<Long> requestIds = new HashSet<>();
+                pending.forEach(event -> requestIds.add(event.requestId()));
+                Set<Long> counted = requestIds.isEmpty()
+                        ? Set.of()
+                        : matchLogParticipantRepository.findExistingRequestIds(requestIds);
+                for (MatchLogChangedEvent event : pending) {
+                    if (!counted.contains(event.requestId())) {
+                        apply(rebuilt, event);
+                    }
+                }
+                createdDuringRebuild = null;
+                byUser = rebuilt;
+            } finally {
+                writeLock.unlock();
+            }
+        });
+        log.info("Rebuilt player suggestions for {} players", rebuilt.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMatchLogChanged(MatchLogChangedEvent event) {
+        if (event.type() != MatchLogChangedEvent.Type.CREATED) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            if (createdDuringRebuild != null) {
+                createdDuringRebuild.add(event);
+            }
+            Map<Long, CoPlayers> current = byUser;
+            if (current != null) {
+                apply(current, event);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public PlayerSuggestionsResponse suggestionsFor(Long userId, int limit) {
+        Map<Long, CoPlayers> current = byUser;
+        CoPlayers coPlayers;
+        if (current != null) {
+            coPlayers = current.getOrDefault(userId, CoPlayers.EMPTY);
+        } else {
+            coPlayers = readOnlyTransaction.execute(status -> {
+                CoPlayers loaded = new CoPlayers();
+                matchLogParticipantRepository.streamCoPlayerCounts(userId, (self, coPlayerId, partner, matches, lastRequestId) ->
+                        (partner ? loaded.partners() : loaded.opponents()).add(coPlayerId, matches, lastRequestId));
+                return loaded;
+            });
+        }
+
+        List<CoPlayerCounts.Entry> partners = coPlayers.partners().top(limit);
+        List<CoPlayerCounts.Entry> opponents = coPlayers.opponents().top(limit);
+        Set<Long> userIds = new HashSet<>();
+        partners.forEach(entry -> userIds.add(entry.userId()));
+        opponents.forEach(entry -> userIds.add(entry.userId()));
+        Map<Long, String> namesById = userDirectory.displayNames(userIds);
+
+        return new PlayerSuggestionsResponse(toResponses(partners, namesById), toResponses(opponents, namesById));
+    }
+
+    private List<PlayerSuggestionResponse> toResponses(List<CoPlayerCounts.Entry> entries, Map<Long, String> namesById) {
+        return entries.stream()
+                .map(entry -> new PlayerSuggestionResponse(
+                        entry.userId(),
+                        namesById.getOrDefault(entry.userId(), "player-" + entry.userId()),
+                        entry.matches()
+                ))
+                .toList();
+    }
+
+    private void apply(Map<Long, CoPlayers> index, MatchLogChangedEvent event) {
+        applySide(index, event.teamUserIds(), event.opponentUserIds(), event.requestId());
+        applySide(index, event.opponentUserIds(), event.teamUserIds(), event.requestId());
+    }
+
+    private void applySide(Map<Long, CoPlayers> index, List<Long> side, List<Long> otherSide, long requestId) {
+        for (Long userId : side) {
+            CoPlayers coPlayers = index.computeIfAbsent(userId, id -> new CoPlayers());
+            for (Long partnerId : side) {
+                if (!partnerId.equals(userId)) {
+                    coPlayers.partners().add(partnerId, 1, requestId);
+                }
+            }
+            for (Long opponentId : otherSide) {
+                coPlayers.opponents().add(opponentId, 1, requestId);
+            }
+        }
+    }
+
+    private record CoPlayers(CoPlayerCounts partners, CoPlayerCounts opponents) {
+        static final CoPlayers EMPTY = new CoPlayers();
+
+        CoPlayers() {
+            this(new CoPlayerCounts(), new CoPlayerCounts());
+        }
+    }
+}
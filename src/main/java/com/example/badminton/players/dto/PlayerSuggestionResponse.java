@@ -0,0 +1,3 @@
+package com.example.badminton.players.dto;
+
+public record PlayerSuggestionResponse(Long id, String username, int matches) {}
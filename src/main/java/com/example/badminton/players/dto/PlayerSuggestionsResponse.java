@@ -0,0 +1,8 @@
+package com.example.badminton.players.dto;
+
+import java.util.List;
+
+public record PlayerSuggestionsResponse(
+        List<PlayerSuggestionResponse> partners,
+        List<PlayerSuggestionResponse> opponents
+) {}
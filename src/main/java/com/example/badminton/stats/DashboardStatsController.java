@@ -1,39 +1,56 @@
 package com.example.badminton.stats;
 
 import com.example.badminton.auth.AuthConstants;
-import com.example.badminton.auth.JwtService;
+import com.example.badminton.auth.AuthSessionService;
+import com.example.badminton.config.ConditionalResponses;
 import com.example.badminton.stats.dto.DashboardStatsResponse;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/api")
 public class DashboardStatsController {
     private final DashboardStatsService dashboardStatsService;
-    private final JwtService jwtService;
+    private final AuthSessionService authSessionService;
+    private final LeaderboardSnapshotCache leaderboardSnapshotCache;
 
-    public DashboardStatsController(DashboardStatsService dashboardStatsService, JwtService jwtService) {
+    public DashboardStatsController(
+            DashboardStatsService dashboardStatsService,
+            AuthSessionService authSessionService,
+            LeaderboardSnapshotCache leaderboardSnapshotCache
+    ) {
         this.dashboardStatsService = dashboardStatsService;
-        this.jwtService = jwtService;
+        this.authSessionService = authSessionService;
+        this.leaderboardSnapshotCache = leaderboardSnapshotCache;
     }
 
     @GetMapping("/users/{userId}/stats")
-    public DashboardStatsResponse getUserStats(
+    public ResponseEntity<DashboardStatsResponse> getUserStats(
             @PathVariable Long userId,
-            @CookieValue(name = AuthConstants.AUTH_COOKIE_NAME, required = false) String token
+            @CookieValue(name = AuthConstants.AUTH_COOKIE_NAME, required = false) String token,
+            WebRequest webRequest
     ) {
-        Long authenticatedUserId = jwtService.parseUserId(token == null ? "" : token)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not authenticated"));
+        Long authenticatedUserId = authSessionService.requireAuthenticatedUserId(token);
 
         if (!authenticatedUserId.equals(userId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Forbidden");
         }
 
-        return dashboardStatsService.getDashboardStats(userId);
+        // The rank moves whenever anyone's rating changes, so key on the global stats version
+        // rather than this user's row.
+        String versionTag = leaderboardSnapshotCache.versionTag();
+        if (versionTag != null && webRequest.checkNotModified("st-" + versionTag)) {
+            return null;
+        }
+
+        DashboardStatsResponse stats = dashboardStatsService.getDashboardStats(userId);
+        return versionTag == null ? ResponseEntity.ok(stats) : ConditionalResponses.withETag("st-" + versionTag, stats);
     }
 }
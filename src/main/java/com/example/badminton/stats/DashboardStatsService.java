@@ -2,6 +2,12 @@ package com.example.badminton.stats;
 
 import com.example.badminton.auth.UserRepository;
 import com.example.badminton.stats.dto.DashboardStatsResponse;
+import com.example.badminton.stats.dto.RankIndexCheckResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,16 +17,26 @@ import org.springframework.web.server.ResponseStatusException;
 public class DashboardStatsService {
     private static final int DEFAULT_MATCHES_WON = 0;
     private static final int DEFAULT_MATCHES_LOST = 0;
-    private static final int DEFAULT_RATING = 1000;
-    private static final int RATING_DELTA_WIN = 25;
-    private static final int RATING_DELTA_LOSS = 15;
+    private static final int DEFAULT_RATING = (int) RatingEngine.INITIAL_RATING;
 
     private final UserRepository userRepository;
     private final UserMatchStatsRepository userMatchStatsRepository;
-
-    public DashboardStatsService(UserRepository userRepository, UserMatchStatsRepository userMatchStatsRepository) {
+    private final RatingRankIndex ratingRankIndex;
+    private final RatingEngine ratingEngine;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DashboardStatsService(
+            UserRepository userRepository,
+            UserMatchStatsRepository userMatchStatsRepository,
+            RatingRankIndex ratingRankIndex,
+            RatingEngine ratingEngine,
+            ApplicationEventPublisher eventPublisher
+    ) {
         this.userRepository = userRepository;
         this.userMatchStatsRepository = userMatchStatsRepository;
+        this.ratingRankIndex = ratingRankIndex;
+        this.ratingEngine = ratingEngine;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -31,25 +47,77 @@ public class DashboardStatsService {
             stats.setMatchesWon(DEFAULT_MATCHES_WON);
             stats.setMatchesLost(DEFAULT_MATCHES_LOST);
             stats.setRating(DEFAULT_RATING);
-            return userMatchStatsRepository.save(stats);
+            UserMatchStats saved = userMatchStatsRepository.save(stats);
+            publishChanged(saved);
+            return saved;
         });
     }
 
+    /**
+     * Rates one or more approved matches, in order. The participants' stats rows are locked
+     * first, so concurrent approvals involving the same players are rated one after another
+     * from committed state. A user may appear in several matches, for example when a batch is
+     * approved together; each stats row is still written once.
+     */
     @Transactional
-    public void recordMatchOutcome(Long userId, boolean won) {
-        initializeForUser(userId);
-        UserMatchStats stats = userMatchStatsRepository.findByUserId(userId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User stats not found"));
-
-        if (won) {
-            stats.setMatchesWon(Math.max(0, stats.getMatchesWon()) + 1);
-            stats.setRating(normalizeRating(stats.getRating() + RATING_DELTA_WIN));
-        } else {
-            stats.setMatchesLost(Math.max(0, stats.getMatchesLost()) + 1);
-            stats.setRating(normalizeRating(stats.getRating() - RATING_DELTA_LOSS));
+    public void recordMatchResults(List<MatchResult> results) {
+        Map<Long, Integer> slots = new TreeMap<>();
+        for (MatchResult result : results) {
+            result.winnerIds().forEach(userId -> slots.putIfAbsent(userId, 0));
+            result.loserIds().forEach(userId -> slots.putIfAbsent(userId, 0));
+        }
+        if (slots.isEmpty()) {
+            return;
+        }
+        Map<Long, StoredRating> stored = userMatchStatsRepository.lockRatings(slots.keySet());
+
+        RatingTable table = new RatingTable(slots.size());
+        int[] storedRatings = new int[slots.size()];
+        int next = 0;
+        for (Map.Entry<Long, Integer> entry : slots.entrySet()) {
+            int slot = next++;
+            entry.setValue(slot);
+            StoredRating rating = stored.get(entry.getKey());
+            if (rating == null) {
+                table.reset(slot);
+                storedRatings[slot] = DEFAULT_RATING;
+            } else {
+                storedRatings[slot] = normalizeRating(rating.rating());
+                table.set(slot, storedRatings[slot], rating.deviation(), rating.volatility());
+            }
+        }
+
+        int[] wins = new int[slots.size()];
+        int[] losses = new int[slots.size()];
+        for (MatchResult result : results) {
+            int[] winnerSlots = slotsOf(result.winnerIds(), slots);
+            int[] loserSlots = slotsOf(result.loserIds(), slots);
+            ratingEngine.rate(table, winnerSlots, loserSlots);
+            table.roundRatings(winnerSlots);
+            table.roundRatings(loserSlots);
+            for (int slot : winnerSlots) {
+                wins[slot]++;
+            }
+            for (int slot : loserSlots) {
+                losses[slot]++;
+            }
         }
 
-        userMatchStatsRepository.save(stats);
+        List<UserStatsDelta> deltas = new ArrayList<>(slots.size());
+        for (Map.Entry<Long, Integer> entry : slots.entrySet()) {
+            int slot = entry.getValue();
+            deltas.add(new UserStatsDelta(
+                    entry.getKey(),
+                    wins[slot],
+                    losses[slot],
+                    (int) Math.round(table.rating(slot)) - storedRatings[slot],
+                    table.deviation(slot),
+                    table.volatility(slot)
+            ));
+        }
+        for (UserStatsChangedEvent changed : userMatchStatsRepository.applyDeltas(deltas, DEFAULT_RATING)) {
+            eventPublisher.publishEvent(changed);
+        }
     }
 
     @Transactional
@@ -64,7 +132,9 @@ public class DashboardStatsService {
                     created.setMatchesWon(DEFAULT_MATCHES_WON);
                     created.setMatchesLost(DEFAULT_MATCHES_LOST);
                     created.setRating(DEFAULT_RATING);
-                    return userMatchStatsRepository.save(created);
+                    UserMatchStats saved = userMatchStatsRepository.saveAndFlush(created);
+                    publishChanged(saved);
+                    return saved;
                 });
 
         boolean changed = false;
@@ -87,12 +157,15 @@ public class DashboardStatsService {
         }
 
         if (changed) {
-            stats = userMatchStatsRepository.save(stats);
+            stats = userMatchStatsRepository.saveAndFlush(stats);
+            publishChanged(stats);
         }
 
         int matchesPlayed = matchesWon + matchesLost;
         int winRate = matchesPlayed == 0 ? 0 : (int) Math.round((matchesWon * 100.0) / matchesPlayed);
-        int rank = toRank(userMatchStatsRepository.countBetterRanked(rating, stats.getUserId()) + 1);
+        Long statsUserId = stats.getUserId();
+        int rank = toRank(ratingRankIndex.rankOf(statsUserId)
+                .orElseGet(() -> userMatchStatsRepository.countBetterRanked(rating, statsUserId) + 1));
 
         return new DashboardStatsResponse(
                 userId,
@@ -106,6 +179,51 @@ public class DashboardStatsService {
         );
     }
 
+    // Not read-only: the index follows the primary, and a lagging replica would report false mismatches.
+    @Transactional
+    public RankIndexCheckResponse checkRankIndex(int sampleSize, boolean repair) {
+        long storedUsers = userMatchStatsRepository.count();
+        int indexedUsers = ratingRankIndex.size();
+        Map<Long, Integer> sample = ratingRankIndex.sample(sampleSize);
+
+        int mismatches = 0;
+        for (Map.Entry<Long, Integer> entry : sample.entrySet()) {
+            long expected = userMatchStatsRepository.countBetterRanked(entry.getValue(), entry.getKey()) + 1;
+            long actual = ratingRankIndex.rankOf(entry.getKey()).orElse(-1);
+            if (expected != actual) {
+                mismatches++;
+            }
+        }
+
+        boolean consistent = ratingRankIndex.isReady() && indexedUsers == storedUsers && mismatches == 0;
+        boolean reseeded = false;
+        if (!consistent && repair) {
+            ratingRankIndex.seed();
+            reseeded = true;
+        }
+
+        return new RankIndexCheckResponse(consistent, indexedUsers, storedUsers, sample.size(), mismatches, reseeded);
+    }
+
+    private int[] slotsOf(List<Long> userIds, Map<Long, Integer> slots) {
+        int[] result = new int[userIds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = slots.get(userIds.get(i));
+        }
+        return result;
+    }
+
+    // Callers flush first, so the entity already holds the stats_version the trigger stamped.
+    private void publishChanged(UserMatchStats stats) {
+        eventPublisher.publishEvent(new UserStatsChangedEvent(
+                stats.getUserId(),
+                normalizeRating(stats.getRating()),
+                stats.getMatchesWon(),
+                stats.getMatchesLost(),
+                stats.getStatsVersion()
+        ));
+    }
+
     private int normalizeRating(Integer rating) {
         if (rating == null) {
             return DEFAULT_RATING;
@@ -0,0 +1,39 @@
+package com.example.badminton.stats;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Team Elo: each side is rated at its members' mean and every member moves by the same amount,
+ * so a match never changes the total rating in play.
+ */
+@Component
+@ConditionalOnProperty(name = "app.stats.rating.engine", havingValue = "elo", matchIfMissing = true)
+public class EloRatingEngine implements RatingEngine {
+    private final double kFactor;
+
+    public EloRatingEngine(@Value("${app.stats.rating.elo.k-factor:32}") double kFactor) {
+        this.kFactor = kFactor;
+    }
+
+    @Override
+    public String name() {
+        return "elo";
+    }
+
+    @Override
+    public void rate(RatingTable table, int[] winnerSlots, int[] loserSlots) {
+        double winnerRating = table.meanRating(winnerSlots);
+        double loserRating = table.meanRating(loserSlots);
+        double expected = 1 / (1 + Math.pow(10, (loserRating - winnerRating) / 400));
+        double delta = kFactor * (1 - expected);
+
+        for (int slot : winnerSlots) {
+            table.set(slot, table.rating(slot) + delta, table.deviation(slot), table.volatility(slot));
+        }
+        for (int slot : loserSlots) {
+            table.set(slot, table.rating(slot) - delta, table.deviation(slot), table.volatility(slot));
+        }
+    }
+}
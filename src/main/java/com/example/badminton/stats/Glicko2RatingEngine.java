@@ -0,0 +1,127 @@
+package com.example.badminton.stats;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Glicko-2 (Glickman, 2012) with each match as its own rating period. For doubles the opposing
+ * team is treated as one player at its mean rating and composite deviation, and the expected
+ * score uses the player's own team mean; each member then moves according to their own
+ * deviation, so uncertain players move further than settled ones.
+ */
+@Component
+@ConditionalOnProperty(name = "app.stats.rating.engine", havingValue = "glicko2")
+public class Glicko2RatingEngine implements RatingEngine {
+    static final double SCALE = 173.7178;
+    private static final double CONVERGENCE = 0.000001;
+    private static final double PI_SQUARED = Math.PI * Math.PI;
+
+    private final double tau;
+
+    public Glicko2RatingEngine(@Value("${app.stats.rating.glicko2.tau:0.5}") double tau) {
+        this.tau = tau;
+    }
+
+    @Override
+    public String name() {
+        return "glicko2";
+    }
+
+    @Override
+    public void rate(RatingTable table, int[] winnerSlots, int[] loserSlots) {
+        double winnerMu = toMu(table.meanRating(winnerSlots));
+        double winnerPhi = table.compositeDeviation(winnerSlots) / SCALE;
+        double loserMu = toMu(table.meanRating(loserSlots));
+        double loserPhi = table.compositeDeviation(loserSlots) / SCALE;
+
+        for (int slot : winnerSlots) {
+            update(table, slot, winnerMu, loserMu, loserPhi, 1);
+        }
+        for (int slot : loserSlots) {
+            update(table, slot, loserMu, winnerMu, winnerPhi, 0);
+        }
+    }
+
+    private void update(RatingTable table, int slot, double teamMu, double opponentMu, double opponentPhi, double score) {
+        double g = g(opponentPhi);
+        double expected = expectedScore(teamMu, opponentMu, g);
+        double variance = 1 / (g * g * expected * (1 - expected));
+        applyPeriod(table, slot, variance, g * (score - expected));
+    }
+
+    /**
+     * Steps 5 to 8 of the Glicko-2 paper for the player in {@code slot}: {@code variance} is the
+     * period's estimated variance v and {@code scoreSum} the sum of g(φj)(sj - Ej) over its games.
+     */
+    void applyPeriod(RatingTable table, int slot, double variance, double scoreSum) {
+        double mu = toMu(table.rating(slot));
+        double phi = table.deviation(slot) / SCALE;
+        double sigma = table.volatility(slot);
+        double improvement = variance * scoreSum;
+
+        double newSigma = newVolatility(phi, sigma, improvement, variance);
+        double phiStar = Math.sqrt(phi * phi + newSigma * newSigma);
+        double newPhi = 1 / Math.sqrt(1 / (phiStar * phiStar) + 1 / variance);
+        double newMu = mu + newPhi * newPhi * scoreSum;
+
+        table.set(slot, newMu * SCALE + INITIAL_RATING, newPhi * SCALE, newSigma);
+    }
+
+    static double g(double phi) {
+        return 1 / Math.sqrt(1 + 3 * phi * phi / PI_SQUARED);
+    }
+
+    static double expectedScore(double mu, double opponentMu, double g) {
+        return 1 / (1 + Math.exp(-g * (mu - opponentMu)));
+    }
+
+    /**
+     * Step 5 of the Glicko-2 paper: solves for the new volatility with the Illinois variant of
+     * regula falsi.
+     */
+    private double newVolatility(double phi, double sigma, double improvement, double variance) {
+        double a = Math.log(sigma * sigma);
+        double phiSquared = phi * phi;
+        double improvementSquared = improvement * improvement;
+
+        double lower = a;
+        double upper;
+        if (improvementSquared > phiSquared + variance) {
+            upper = Math.log(improvementSquared - phiSquared - variance);
+        } else {
+            int k = 1;
+            while (volatilityObjective(a - k * tau, a, phiSquared, improvementSquared, variance) < 0) {
+                k++;
+            }
+            upper = a - k * tau;
+        }
+
+        double fLower = volatilityObjective(lower, a, phiSquared, improvementSquared, variance);
+        double fUpper = volatilityObjective(upper, a, phiSquared, improvementSquared, variance);
+        while (Math.abs(upper - lower) > CONVERGENCE) {
+            double candidate = lower + (lower - upper) * fLower / (fUpper - fLower);
+            double fCandidate = volatilityObjective(candidate, a, phiSquared, improvementSquared, variance);
+            if (fCandidate * fUpper <= 0) {
+                lower = upper;
+                fLower = fUpper;
+            } else {
+                fLower /= 2;
+            }
+            upper = candidate;
+            fUpper = fCandidate;
+        }
+        return Math.exp(lower / 2);
+    }
+
+    private double volatilityObjective(double x, double a, double phiSquared, double improvementSquared, double variance) {
+        double ex = Math.exp(x);
+        double denominator = phiSquared + variance + ex;
+        return ex * (improvementSquared - phiSquared - variance - ex) / (2 * denominator * denominator)
+                - (x - a) / (tau * tau);
+    }
+
+    static double toMu(double rating) {
+        return (rating - INITIAL_RATING) / SCALE;
+    }
+}
@@ -2,29 +2,78 @@ package com.example.badminton.stats;
 
 import com.example.badminton.auth.AuthConstants;
 import com.example.badminton.auth.AuthSessionService;
+import com.example.badminton.config.ConditionalResponses;
 import com.example.badminton.stats.dto.LeaderboardEntryResponse;
+import com.example.badminton.stats.dto.LeaderboardPageResponse;
 import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/api/leaderboard")
 public class LeaderboardController {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final LeaderboardService leaderboardService;
     private final AuthSessionService authSessionService;
+    private final LeaderboardSnapshotCache leaderboardSnapshotCache;
 
-    public LeaderboardController(LeaderboardService leaderboardService, AuthSessionService authSessionService) {
+    public LeaderboardController(
+            LeaderboardService leaderboardService,
+            AuthSessionService authSessionService,
+            LeaderboardSnapshotCache leaderboardSnapshotCache
+    ) {
         this.leaderboardService = leaderboardService;
         this.authSessionService = authSessionService;
+        this.leaderboardSnapshotCache = leaderboardSnapshotCache;
     }
 
+    /**
+     * Without any paging parameter this keeps the original response: a JSON array of every entry.
+     * With {@code cursorRating}/{@code cursorUserId}, {@code limit} or {@code around} it returns
+     * one {@link LeaderboardPageResponse}.
+     */
     @GetMapping
-    public List<LeaderboardEntryResponse> leaderboard(
-            @CookieValue(name = AuthConstants.AUTH_COOKIE_NAME, required = false) String token
+    public ResponseEntity<?> leaderboard(
+            @CookieValue(name = AuthConstants.AUTH_COOKIE_NAME, required = false) String token,
+            @RequestParam(required = false) Integer cursorRating,
+            @RequestParam(required = false) Long cursorUserId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String around,
+            WebRequest webRequest
     ) {
-        authSessionService.requireAuthenticatedUserId(token);
-        return leaderboardService.getLeaderboard();
+        Long userId = authSessionService.requireAuthenticatedUserId(token);
+        int pageSize = Math.min(Math.max(limit == null ? DEFAULT_PAGE_SIZE : limit, 1), MAX_PAGE_SIZE);
+        boolean aroundMe = around != null && !around.isBlank();
+        if (aroundMe && !"me".equalsIgnoreCase(around.trim())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid around value");
+        }
+        boolean paged = cursorRating != null || cursorUserId != null || limit != null || aroundMe;
+
+        // Pages and the full list are the same for everyone; the around=me window also depends
+        // on the caller.
+        String versionTag = leaderboardSnapshotCache.versionTag();
+        String etag = versionTag == null ? null
+                : "lb-" + versionTag + (aroundMe ? "-u" + userId : paged ? "" : "-all");
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        if (!paged) {
+            List<LeaderboardEntryResponse> entries = leaderboardService.getFullLeaderboard();
+            return etag == null ? ResponseEntity.ok(entries) : ConditionalResponses.withETag(etag, entries);
+        }
+        LeaderboardPageResponse page = aroundMe
+                ? leaderboardService.getLeaderboardAround(userId, pageSize)
+                : leaderboardService.getLeaderboard(cursorRating, cursorUserId, pageSize);
+        return etag == null ? ResponseEntity.ok(page) : ConditionalResponses.withETag(etag, page);
     }
 }
@@ -1,67 +1,165 @@
 package com.example.badminton.stats;
 
-import com.example.badminton.auth.User;
-import com.example.badminton.auth.UserRepository;
+import com.example.badminton.auth.UserDirectory;
 import com.example.badminton.stats.dto.LeaderboardEntryResponse;
+import com.example.badminton.stats.dto.LeaderboardPageResponse;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class LeaderboardService {
+    private static final long UNCACHED_VERSION = 0;
+
     private final UserMatchStatsRepository userMatchStatsRepository;
-    private final UserRepository userRepository;
+    private final UserDirectory userDirectory;
+    private final RatingRankIndex ratingRankIndex;
+    private final LeaderboardSnapshotCache leaderboardSnapshotCache;
+    private final TransactionTemplate readOnlyTransaction;
 
-    public LeaderboardService(UserMatchStatsRepository userMatchStatsRepository, UserRepository userRepository) {
+    public LeaderboardService(
+            UserMatchStatsRepository userMatchStatsRepository,
+            UserDirectory userDirectory,
+            RatingRankIndex ratingRankIndex,
+            LeaderboardSnapshotCache leaderboardSnapshotCache,
+            PlatformTransactionManager transactionManager
+    ) {
         this.userMatchStatsRepository = userMatchStatsRepository;
-        this.userRepository = userRepository;
+        this.userDirectory = userDirectory;
+        this.ratingRankIndex = ratingRankIndex;
+        this.leaderboardSnapshotCache = leaderboardSnapshotCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public LeaderboardPageResponse getLeaderboard(Integer cursorRating, Long cursorUserId, int limit) {
+        if ((cursorRating == null) != (cursorUserId == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor requires both rating and userId");
+        }
+
+        LeaderboardSnapshot snapshot = leaderboardSnapshotCache.current();
+        if (snapshot != null) {
+            int from = cursorRating == null ? 0 : snapshot.indexAfter(cursorRating, cursorUserId);
+            return fromSnapshot(snapshot, from, from + limit);
+        }
+        return readOnlyTransaction.execute(status -> queryLeaderboard(cursorRating, cursorUserId, limit));
     }
 
-    @Transactional(readOnly = true)
-    public List<LeaderboardEntryResponse> getLeaderboard() {
-        var stats = userMatchStatsRepository.findAllOrdered();
+    /**
+     * Every ranked player, for clients of the unpaged endpoint.
+     */
+    public List<LeaderboardEntryResponse> getFullLeaderboard() {
+        LeaderboardSnapshot snapshot = leaderboardSnapshotCache.current();
+        if (snapshot != null) {
+            return fromSnapshot(snapshot, 0, snapshot.size()).entries();
+        }
+        return readOnlyTransaction.execute(status -> toPage(
+                userMatchStatsRepository.findRankedAfter(Integer.MAX_VALUE, 0L, Pageable.unpaged()), false).entries());
+    }
+
+    public LeaderboardPageResponse getLeaderboardAround(Long userId, int radius) {
+        LeaderboardSnapshot snapshot = leaderboardSnapshotCache.current();
+        int position = snapshot == null ? -1 : snapshot.indexOf(userId);
+        if (position >= 0) {
+            return fromSnapshot(snapshot, Math.max(0, position - radius), position + radius + 1);
+        }
+        return readOnlyTransaction.execute(status -> queryLeaderboardAround(userId, radius));
+    }
+
+    private LeaderboardPageResponse fromSnapshot(LeaderboardSnapshot snapshot, int from, int to) {
+        int end = Math.min(to, snapshot.size());
+        List<LeaderboardEntryResponse> rows = new ArrayList<>(Math.max(0, end - from));
+        for (int i = from; i < end; i++) {
+            LeaderboardSnapshot.Entry entry = snapshot.get(i);
+            rows.add(toEntry(i + 1, entry.userId(), entry.username(), entry.rating(), entry.matchesWon(), entry.matchesLost()));
+        }
+
+        if (end >= snapshot.size() || rows.isEmpty()) {
+            return new LeaderboardPageResponse(snapshot.version(), rows, null, null);
+        }
+        LeaderboardSnapshot.Entry last = snapshot.get(end - 1);
+        return new LeaderboardPageResponse(snapshot.version(), rows, last.rating(), last.userId());
+    }
+
+    private LeaderboardPageResponse queryLeaderboard(Integer cursorRating, Long cursorUserId, int limit) {
+        int rating = cursorRating == null ? Integer.MAX_VALUE : cursorRating;
+        long userId = cursorUserId == null ? 0L : cursorUserId;
+        List<UserMatchStats> stats = userMatchStatsRepository.findRankedAfter(rating, userId, PageRequest.of(0, limit + 1));
+
+        boolean hasMore = stats.size() > limit;
+        List<UserMatchStats> page = hasMore ? stats.subList(0, limit) : stats;
+        return toPage(page, hasMore);
+    }
+
+    private LeaderboardPageResponse queryLeaderboardAround(Long userId, int radius) {
+        UserMatchStats self = userMatchStatsRepository.findByUserId(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User stats not found"));
+        int rating = ratingOf(self);
+
+        List<UserMatchStats> above = new ArrayList<>(
+                userMatchStatsRepository.findRankedBefore(rating, userId, PageRequest.of(0, radius)));
+        Collections.reverse(above);
+        List<UserMatchStats> below = userMatchStatsRepository.findRankedAfter(rating, userId, PageRequest.of(0, radius + 1));
+
+        boolean hasMore = below.size() > radius;
+        List<UserMatchStats> page = new ArrayList<>(above);
+        page.add(self);
+        page.addAll(hasMore ? below.subList(0, radius) : below);
+        return toPage(page, hasMore);
+    }
+
+    private LeaderboardPageResponse toPage(List<UserMatchStats> stats, boolean hasMore) {
         if (stats.isEmpty()) {
-            return List.of();
+            return new LeaderboardPageResponse(UNCACHED_VERSION, List.of(), null, null);
         }
 
-        Map<Long, User> usersById = userRepository.findAllById(
-                        stats.stream().map(s -> s.getUserId()).toList())
-                .stream()
-                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, String> namesById = userDirectory.displayNames(
+                stats.stream().map(UserMatchStats::getUserId).toList());
+
+        UserMatchStats first = stats.get(0);
+        long firstRank = ratingRankIndex.rankOf(first.getUserId())
+                .orElseGet(() -> userMatchStatsRepository.countBetterRanked(ratingOf(first), first.getUserId()) + 1);
 
         List<LeaderboardEntryResponse> rows = new ArrayList<>();
-        int rank = 1;
+        int rank = (int) Math.min(firstRank, Integer.MAX_VALUE);
         for (var s : stats) {
-            int wins = Math.max(0, s.getMatchesWon());
-            int losses = Math.max(0, s.getMatchesLost());
-            int played = wins + losses;
-            int winRate = played == 0 ? 0 : (int) Math.round((wins * 100.0) / played);
-            int rating = s.getRating() == null ? 1000 : s.getRating();
-            String username = resolveUsername(usersById.get(s.getUserId()));
-            rows.add(new LeaderboardEntryResponse(
-                    rank++,
-                    s.getUserId(),
-                    username,
-                    rating,
-                    wins,
-                    losses,
-                    winRate,
-                    calculateTier(rating)
-            ));
+            String username = namesById.getOrDefault(s.getUserId(), "player");
+            rows.add(toEntry(rank++, s.getUserId(), username, ratingOf(s), s.getMatchesWon(), s.getMatchesLost()));
         }
-        return rows;
+
+        UserMatchStats last = stats.get(stats.size() - 1);
+        return hasMore
+                ? new LeaderboardPageResponse(UNCACHED_VERSION, rows, ratingOf(last), last.getUserId())
+                : new LeaderboardPageResponse(UNCACHED_VERSION, rows, null, null);
     }
 
-    private String resolveUsername(User user) {
-        if (user == null) return "player";
-        if (user.getUsername() != null && !user.getUsername().isBlank()) {
-            return user.getUsername();
-        }
-        return user.getEmail();
+    private LeaderboardEntryResponse toEntry(int rank, Long userId, String username, int rating, int matchesWon, int matchesLost) {
+        int wins = Math.max(0, matchesWon);
+        int losses = Math.max(0, matchesLost);
+        int played = wins + losses;
+        int winRate = played == 0 ? 0 : (int) Math.round((wins * 100.0) / played);
+        return new LeaderboardEntryResponse(
+                rank,
+                userId,
+                username,
+                rating,
+                wins,
+                losses,
+                winRate,
+                calculateTier(rating)
+        );
+    }
+
+    private int ratingOf(UserMatchStats stats) {
+        return stats.getRating() == null ? 1000 : stats.getRating();
     }
 
     private String calculateTier(int rating) {
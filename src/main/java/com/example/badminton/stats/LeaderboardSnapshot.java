@@ -0,0 +1,235 @@
+package com.example.badminton.stats;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable, versioned view of the whole leaderboard in rating desc, user id asc order, so
+ * readers never need a lock.
+ *
+ * <p>Entries are kept in sorted chunks of a few hundred, and each user's rating sits in one of a
+ * fixed number of hashed buckets. {@link #with} copies only the chunks and buckets its updates
+ * touch, plus the two top-level arrays of references, and shares everything else with the
+ * previous snapshot.
+ */
+public final class LeaderboardSnapshot {
+    static final int CHUNK_SIZE = 256;
+    private static final int MIN_BUCKETS = 64;
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::rating).reversed()
+            .thenComparing(Entry::userId);
+
+    private final long version;
+    private final Entry[][] chunks;
+    // offsets[c] is the position of chunks[c][0]; the last element is the size.
+    private final int[] offsets;
+    private final LongIntHashMap[] ratingsByUser;
+
+    LeaderboardSnapshot(long version, Entry[] entries) {
+        Entry[] sorted = entries.clone();
+        Arrays.sort(sorted, ORDER);
+
+        this.version = version;
+        this.chunks = new Entry[(sorted.length + CHUNK_SIZE - 1) / CHUNK_SIZE][];
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c] = Arrays.copyOfRange(sorted, c * CHUNK_SIZE, Math.min((c + 1) * CHUNK_SIZE, sorted.length));
+        }
+        this.offsets = offsetsOf(chunks);
+
+        int buckets = Integer.highestOneBit(Math.max(MIN_BUCKETS, sorted.length / CHUNK_SIZE) * 2 - 1);
+        this.ratingsByUser = new LongIntHashMap[buckets];
+        for (int b = 0; b < buckets; b++) {
+            ratingsByUser[b] = new LongIntHashMap(sorted.length / buckets + 1);
+        }
+        for (Entry entry : sorted) {
+            ratingsByUser[bucketOf(entry.userId(), buckets)].put(entry.userId(), entry.rating());
+        }
+    }
+
+    private LeaderboardSnapshot(long version, Entry[][] chunks, LongIntHashMap[] ratingsByUser) {
+        this.version = version;
+        this.chunks = chunks;
+        this.offsets = offsetsOf(chunks);
+        this.ratingsByUser = ratingsByUser;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return offsets[chunks.length];
+    }
+
+    public Entry get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int low = 0;
+        int high = chunks.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return chunks[low][index - offsets[low]];
+    }
+
+    /**
+     * Returns the position of the user, or -1 when the user has no stats row.
+     */
+    public int indexOf(Long userId) {
+        int rating = ratingsByUser[bucketOf(userId, ratingsByUser.length)].get(userId);
+        if (rating < 0) {
+            return -1;
+        }
+        int index = lowerBound(rating, userId);
+        return index < size() && get(index).userId().equals(userId) ? index : -1;
+    }
+
+    /**
+     * Returns the position of the first entry ranked strictly after the (rating, userId) cursor.
+     */
+    public int indexAfter(int rating, long userId) {
+        int index = lowerBound(rating, userId);
+        if (index < size()) {
+            Entry entry = get(index);
+            if (entry.rating() == rating && entry.userId() == userId) {
+                index++;
+            }
+        }
+        return index;
+    }
+
+    public String usernameOf(Long userId) {
+        int index = indexOf(userId);
+        return index < 0 ? null : get(index).username();
+    }
+
+    /**
+     * Returns a snapshot with {@code updates} applied in order, each replacing that user's entry.
+     */
+    LeaderboardSnapshot with(Collection<Entry> updates, long nextVersion) {
+        List<Entry[]> nextChunks = new ArrayList<>(Arrays.asList(chunks));
+        LongIntHashMap[] nextRatings = ratingsByUser.clone();
+        boolean[] copiedBuckets = new boolean[nextRatings.length];
+
+        for (Entry entry : updates) {
+            int bucket = bucketOf(entry.userId(), nextRatings.length);
+            if (!copiedBuckets[bucket]) {
+                nextRatings[bucket] = nextRatings[bucket].copy();
+                copiedBuckets[bucket] = true;
+            }
+            int previous = nextRatings[bucket].get(entry.userId());
+            if (previous >= 0) {
+                remove(nextChunks, previous, entry.userId());
+            }
+            insert(nextChunks, entry);
+            nextRatings[bucket].put(entry.userId(), entry.rating());
+        }
+        return new LeaderboardSnapshot(nextVersion, nextChunks.toArray(new Entry[0][]), nextRatings);
+    }
+
+    private int lowerBound(int rating, long userId) {
+        int chunk = chunkFor(Arrays.asList(chunks), rating, userId);
+        return chunk == chunks.length ? size() : offsets[chunk] + lowerBound(chunks[chunk], rating, userId);
+    }
+
+    private static void remove(List<Entry[]> chunks, int rating, long userId) {
+        int c = chunkFor(chunks, rating, userId);
+        if (c == chunks.size()) {
+            return;
+        }
+        Entry[] chunk = chunks.get(c);
+        int i = lowerBound(chunk, rating, userId);
+        if (i == chunk.length || chunk[i].userId() != userId) {
+            return;
+        }
+        if (chunk.length == 1) {
+            chunks.remove(c);
+            return;
+        }
+        Entry[] next = new Entry[chunk.length - 1];
+        System.arraycopy(chunk, 0, next, 0, i);
+        System.arraycopy(chunk, i + 1, next, i, next.length - i);
+        chunks.set(c, next);
+    }
+
+    private static void insert(List<Entry[]> chunks, Entry entry) {
+        if (chunks.isEmpty()) {
+            chunks.add(new Entry[] {entry});
+            return;
+        }
+        int c = Math.min(chunkFor(chunks, entry.rating(), entry.userId()), chunks.size() - 1);
+        Entry[] chunk = chunks.get(c);
+        int i = lowerBound(chunk, entry.rating(), entry.userId());
+        Entry[] next = new Entry[chunk.length + 1];
+        System.arraycopy(chunk, 0, next, 0, i);
+        next[i] = entry;
+        System.arraycopy(chunk, i, next, i + 1, chunk.length - i);
+
+        if (next.length <= 2 * CHUNK_SIZE) {
+            chunks.set(c, next);
+            return;
+        }
+        int half = next.length / 2;
+        chunks.set(c, Arrays.copyOfRange(next, 0, half));
+        chunks.add(c + 1, Arrays.copyOfRange(next, half, next.length));
+    }
+
+    /**
+     * Returns the first chunk whose last entry is not ranked before (rating, userId), or the
+     * chunk count when there is none.
+     */
+    private static int chunkFor(List<Entry[]> chunks, int rating, long userId) {
+        int low = 0;
+        int high = chunks.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Entry[] chunk = chunks.get(mid);
+            if (before(chunk[chunk.length - 1], rating, userId)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int lowerBound(Entry[] entries, int rating, long userId) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (before(entries[mid], rating, userId)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean before(Entry candidate, int rating, long userId) {
+        return candidate.rating() > rating || (candidate.rating() == rating && candidate.userId() < userId);
+    }
+
+    private static int[] offsetsOf(Entry[][] chunks) {
+        int[] offsets = new int[chunks.length + 1];
+        for (int c = 0; c < chunks.length; c++) {
+            offsets[c + 1] = offsets[c] + chunks[c].length;
+        }
+        return offsets;
+    }
+
+    private static int bucketOf(long userId, int buckets) {
+        return Long.hashCode(userId * 0x9E3779B97F4A7C15L) & (buckets - 1);
+    }
+
+    public record Entry(Long userId, String username, int rating, int matchesWon, int matchesLost, long statsVersion) {}
+}
@@ -0,0 +1,150 @@
+package com.example.badminton.stats;
+
+import com.example.badminton.auth.UserDirectory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Holds the current {@link LeaderboardSnapshot}. It is built once at startup and then patched
+ * from {@link UserStatsChangedEvent}s on the publishing thread, which copies only the parts of
+ * the snapshot the change touches. Writers are serialized; reads are a volatile read.
+ */
+@Component
+public class LeaderboardSnapshotCache {
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardSnapshotCache.class);
+
+    private final UserMatchStatsRepository userMatchStatsRepository;
+    private final UserDirectory userDirectory;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Startup and replay can both reseed; one at a time, or they would share updatesDuringSeed.
+    private final ReentrantLock seedLock = new ReentrantLock();
+    private final String instanceTag = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    private volatile LeaderboardSnapshot snapshot;
+    private long version;
+    private Map<Long, LeaderboardSnapshot.Entry> updatesDuringSeed;
+
+    public LeaderboardSnapshotCache(UserMatchStatsRepository userMatchStatsRepository, UserDirectory userDirectory) {
+        this.userMatchStatsRepository = userMatchStatsRepository;
+        this.userDirectory = userDirectory;
+    }
+
+    /**
+     * Returns the current snapshot, or null until the cache has been seeded.
+     */
+    public LeaderboardSnapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Opaque tag that changes whenever any user's stats change, or null until seeded. Versions
+     * restart with the process, so the tag carries a per-instance prefix as well.
+     */
+    public String versionTag() {
+        LeaderboardSnapshot current = snapshot;
+        return current == null ? null : instanceTag + "." + current.version();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        seedLock.lock();
+        try {
+            load();
+        } finally {
+            seedLock.unlock();
+        }
+    }
+
+    private void load() {
+        writeLock.lock();
+        try {
+            updatesDuringSeed = new LinkedHashMap<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        List<UserMatchStatsRepository.LeaderboardRow> rows = userMatchStatsRepository.findLeaderboardRows();
+        LeaderboardSnapshot.Entry[] entries = new LeaderboardSnapshot.Entry[rows.size()];
+        for (int i = 0; i < entries.length; i++) {
+            UserMatchStatsRepository.LeaderboardRow row = rows.get(i);
+            entries[i] = new LeaderboardSnapshot.Entry(
+                    row.getUserId(),
+                    row.getDisplayName(),
+                    row.getRating(),
+                    Math.max(0, row.getMatchesWon()),
+                    Math.max(0, row.getMatchesLost()),
+                    row.getStatsVersion()
+            );
+        }
+
+        writeLock.lock();
+        try {
+            version++;
+            LeaderboardSnapshot seeded = new LeaderboardSnapshot(version, entries);
+            List<LeaderboardSnapshot.Entry> newer = new ArrayList<>();
+            for (LeaderboardSnapshot.Entry entry : updatesDuringSeed.values()) {
+                if (!isStale(seeded, entry)) {
+                    newer.add(entry);
+                }
+            }
+            if (!newer.isEmpty()) {
+                seeded = seeded.with(newer, version);
+            }
+            updatesDuringSeed = null;
+            snapshot = seeded;
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Seeded leaderboard snapshot with {} players", entries.length);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatsChanged(UserStatsChangedEvent event) {
+        LeaderboardSnapshot current = snapshot;
+        String username = current == null ? null : current.usernameOf(event.userId());
+        if (username == null) {
+            username = userDirectory.displayNames(List.of(event.userId())).getOrDefault(event.userId(), "player");
+        }
+
+        LeaderboardSnapshot.Entry entry = new LeaderboardSnapshot.Entry(
+                event.userId(),
+                username,
+                event.rating(),
+                Math.max(0, event.matchesWon()),
+                Math.max(0, event.matchesLost()),
+                event.statsVersion()
+        );
+
+        writeLock.lock();
+        try {
+            if (updatesDuringSeed != null) {
+                updatesDuringSeed.merge(entry.userId(), entry,
+                        (buffered, next) -> next.statsVersion() > buffered.statsVersion() ? next : buffered);
+            }
+            if (snapshot != null && !isStale(snapshot, entry)) {
+                version++;
+                snapshot = snapshot.with(List.of(entry), version);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * True when the snapshot already holds the same or a newer version of the entry's user.
+     */
+    private static boolean isStale(LeaderboardSnapshot snapshot, LeaderboardSnapshot.Entry entry) {
+        int index = snapshot.indexOf(entry.userId());
+        return index >= 0 && snapshot.get(index).statsVersion() >= entry.statsVersion();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.badminton.stats;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from {@code long} keys to non-negative {@code int} values, for bulk jobs
+ * and caches that would otherwise box a key and an entry per player.
+ */
+final class LongIntHashMap {
+    private static final int MISSING = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    private LongIntHashMap(LongIntHashMap source) {
+        keys = source.keys.clone();
+        values = source.values.clone();
+        size = source.size;
+        mask = source.mask;
+    }
+
+    LongIntHashMap copy() {
+        return new LongIntHashMap(this);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value for {@code key}, or -1 when absent.
+     */
+    int get(long key) {
+        int index = indexOf(key);
+        return values[index];
+    }
+
+    void put(long key, int value) {
+        int index = indexOf(key);
+        if (values[index] == MISSING) {
+            keys[index] = key;
+            size++;
+        }
+        values[index] = value;
+        if (size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    private int indexOf(long key) {
+        int index = (int) mix(key) & mask;
+        while (values[index] != MISSING && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(keys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != MISSING) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, MISSING);
+        mask = capacity - 1;
+    }
+
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+}
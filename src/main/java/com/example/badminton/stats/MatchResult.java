@@ -0,0 +1,8 @@
+package com.example.badminton.stats;
+
+import java.util.List;
+
+/**
+ * An approved match to rate: one player per side for singles, two for doubles.
+ */
+public record MatchResult(List<Long> winnerIds, List<Long> loserIds) {}
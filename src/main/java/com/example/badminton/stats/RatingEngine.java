@@ -0,0 +1,21 @@
+package com.example.badminton.stats;
+
+/**
+ * Updates ratings for one match between two teams of one (singles) or two (doubles) players.
+ * Implementations are pure functions of the table: they read every participant's state before
+ * writing any of it, and allocate nothing, so the same engine serves the live approval path and
+ * bulk recomputation.
+ */
+public interface RatingEngine {
+    double INITIAL_RATING = 1000;
+    double INITIAL_DEVIATION = 350;
+    double INITIAL_VOLATILITY = 0.06;
+
+    String name();
+
+    /**
+     * Applies a win by {@code winnerSlots} over {@code loserSlots}, updating those rows of
+     * {@code table} in place.
+     */
+    void rate(RatingTable table, int[] winnerSlots, int[] loserSlots);
+}
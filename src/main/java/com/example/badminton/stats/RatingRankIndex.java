@@ -0,0 +1,269 @@
+package com.example.badminton.stats;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory order-statistic index over {@code user_match_stats}, ordered by rating desc and
+ * user id asc (the same order as {@link UserMatchStatsRepository#countBetterRanked}).
+ *
+ * <p>A Fenwick tree keyed by rating counts players per rating, and each rating keeps a sorted
+ * bucket of user ids for tie-breaking, so a rank lookup is two logarithmic searches.
+ */
+@Component
+public class RatingRankIndex {
+    private static final Logger log = LoggerFactory.getLogger(RatingRankIndex.class);
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final UserMatchStatsRepository userMatchStatsRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Startup, repair and replay can all reseed; one at a time, or they would share updatesDuringSeed.
+    private final ReentrantLock seedLock = new ReentrantLock();
+
+    private final Map<Long, IndexedRating> ratingsByUser = new HashMap<>();
+    private final Map<Integer, UserIdBucket> bucketsByRating = new HashMap<>();
+    private long[] tree = new long[INITIAL_CAPACITY + 1];
+    private boolean ready;
+    private Map<Long, IndexedRating> updatesDuringSeed;
+
+    public RatingRankIndex(UserMatchStatsRepository userMatchStatsRepository) {
+        this.userMatchStatsRepository = userMatchStatsRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        seedLock.lock();
+        try {
+            load();
+        } finally {
+            seedLock.unlock();
+        }
+    }
+
+    private void load() {
+        lock.writeLock().lock();
+        try {
+            updatesDuringSeed = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<UserMatchStatsRepository.UserRating> rows = userMatchStatsRepository.findAllRatings();
+
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (UserMatchStatsRepository.UserRating row : rows) {
+                put(row.getUserId(), new IndexedRating(normalize(row.getRating()), row.getStatsVersion()));
+            }
+            updatesDuringSeed.forEach(this::put);
+            updatesDuringSeed = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Seeded rating rank index with {} players", rows.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatsChanged(UserStatsChangedEvent event) {
+        IndexedRating rating = new IndexedRating(normalize(event.rating()), event.statsVersion());
+        lock.writeLock().lock();
+        try {
+            if (updatesDuringSeed != null) {
+                updatesDuringSeed.merge(event.userId(), rating, IndexedRating::newer);
+            }
+            put(event.userId(), rating);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the 1-based rank of the user, or empty when the index is not seeded yet or does not
+     * know the user; callers fall back to the SQL count in that case.
+     */
+    public OptionalLong rankOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            IndexedRating indexed = ready ? ratingsByUser.get(userId) : null;
+            if (indexed == null) {
+                return OptionalLong.empty();
+            }
+            return OptionalLong.of(countBetterRanked(indexed.rating(), userId) + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ratingsByUser.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} indexed user ids with their current rating, spread evenly over
+     * the index, for spot-checking against the database.
+     */
+    public Map<Long, Integer> sample(int limit) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> sample = new LinkedHashMap<>();
+            if (limit <= 0 || ratingsByUser.isEmpty()) {
+                return sample;
+            }
+            int step = Math.max(1, ratingsByUser.size() / limit);
+            int i = 0;
+            for (Map.Entry<Long, IndexedRating> entry : ratingsByUser.entrySet()) {
+                if (i++ % step == 0 && sample.size() < limit) {
+                    sample.put(entry.getKey(), entry.getValue().rating());
+                }
+            }
+            return sample;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long countBetterRanked(int rating, long userId) {
+        long higherRated = ratingsByUser.size() - prefixCount(rating);
+        UserIdBucket bucket = bucketsByRating.get(rating);
+        return higherRated + (bucket == null ? 0 : bucket.countBelow(userId));
+    }
+
+    /**
+     * Indexes the rating unless the index already holds the same or a newer version for the user.
+     */
+    private void put(Long userId, IndexedRating indexed) {
+        IndexedRating previous = ratingsByUser.get(userId);
+        if (previous != null && previous.version() >= indexed.version()) {
+            return;
+        }
+        int rating = indexed.rating();
+        ensureCapacity(rating);
+        ratingsByUser.put(userId, indexed);
+        if (previous != null) {
+            if (previous.rating() == rating) {
+                return;
+            }
+            UserIdBucket bucket = bucketsByRating.get(previous.rating());
+            bucket.remove(userId);
+            if (bucket.isEmpty()) {
+                bucketsByRating.remove(previous.rating());
+            }
+            addToTree(previous.rating(), -1);
+        }
+        bucketsByRating.computeIfAbsent(rating, r -> new UserIdBucket()).add(userId);
+        addToTree(rating, 1);
+    }
+
+    private static int normalize(int rating) {
+        return Math.max(1, rating);
+    }
+
+    private void clear() {
+        ratingsByUser.clear();
+        bucketsByRating.clear();
+        tree = new long[INITIAL_CAPACITY + 1];
+    }
+
+    private void addToTree(int rating, int delta) {
+        for (int i = rating; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private long prefixCount(int rating) {
+        long sum = 0;
+        for (int i = Math.min(rating, tree.length - 1); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private void ensureCapacity(int rating) {
+        if (rating < tree.length) {
+            return;
+        }
+        int capacity = Integer.highestOneBit(rating) << 1;
+        tree = new long[capacity + 1];
+        for (Map.Entry<Integer, UserIdBucket> entry : bucketsByRating.entrySet()) {
+            int count = entry.getValue().size();
+            for (int i = entry.getKey(); i < tree.length; i += i & -i) {
+                tree[i] += count;
+            }
+        }
+    }
+
+    private record IndexedRating(int rating, long version) {
+        static IndexedRating newer(IndexedRating a, IndexedRating b) {
+            return b.version() > a.version() ? b : a;
+        }
+    }
+
+    private static final class UserIdBucket {
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int countBelow(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        void add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+    }
+}
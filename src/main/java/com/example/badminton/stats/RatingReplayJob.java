@@ -0,0 +1,247 @@
+package com.example.badminton.stats;
+
+import com.example.badminton.matchlog.MatchLogRequestRepository;
+import com.example.badminton.stats.dto.RatingReplayResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Recomputes every user's wins, losses and rating from the approved match history with the
+ * configured engine, for example after switching engines. Matches are streamed in creation
+ * order and rated in memory, and the results are written back in chunks. Stats writes are
+ * blocked while the replay runs; reads continue to see the previous values until it commits.
+ * With {@code shadowTable} the results go into a fresh table that replaces
+ * {@code user_match_stats} in the same transaction, instead of rewriting the live rows.
+ */
+@Component
+public class RatingReplayJob {
+    private static final Logger log = LoggerFactory.getLogger(RatingReplayJob.class);
+    private static final int WRITE_CHUNK_SIZE = 2000;
+    private static final int INITIAL_PLAYERS = 1024;
+
+    private final MatchLogRequestRepository matchLogRequestRepository;
+    private final UserMatchStatsRepository userMatchStatsRepository;
+    private final RatingEngine ratingEngine;
+    private final RatingRankIndex ratingRankIndex;
+    private final LeaderboardSnapshotCache leaderboardSnapshotCache;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate reseedTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public RatingReplayJob(
+            MatchLogRequestRepository matchLogRequestRepository,
+            UserMatchStatsRepository userMatchStatsRepository,
+            RatingEngine ratingEngine,
+            RatingRankIndex ratingRankIndex,
+            LeaderboardSnapshotCache leaderboardSnapshotCache,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.matchLogRequestRepository = matchLogRequestRepository;
+        this.userMatchStatsRepository = userMatchStatsRepository;
+        this.ratingEngine = ratingEngine;
+        this.ratingRankIndex = ratingRankIndex;
+        this.leaderboardSnapshotCache = leaderboardSnapshotCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Read-write so the seeds' read-only queries join it on the primary: a replica may not
+        // have the replay yet, and the caches would be rebuilt from the old values.
+        this.reseedTransaction = new TransactionTemplate(transactionManager);
+        this.reseedTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    public RatingReplayResponse replay(boolean shadowTable) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A rating replay is already running");
+        }
+        try {
+            long started = System.nanoTime();
+            Replay replay = transactionTemplate.execute(status -> {
+                userMatchStatsRepository.lockForReplay();
+                Replay loaded = new Replay(ratingEngine);
+                matchLogRequestRepository.streamApprovedParticipants(loaded::accept);
+                loaded.finish();
+                write(loaded, shadowTable);
+                return loaded;
+            });
+
+            // Stats were replaced wholesale without per-user events.
+            reseedTransaction.executeWithoutResult(status -> {
+                ratingRankIndex.seed();
+                leaderboardSnapshotCache.seed();
+            });
+
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            log.info("Replayed {} matches for {} players with {} in {} ms",
+                    replay.matches, replay.size, ratingEngine.name(), durationMs);
+            return new RatingReplayResponse(
+                    ratingEngine.name(),
+                    replay.matches,
+                    replay.skippedMatches,
+                    replay.size,
+                    replay.resetPlayers,
+                    shadowTable,
+                    durationMs
+            );
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void write(Replay replay, boolean shadowTable) {
+        if (shadowTable) {
+            userMatchStatsRepository.createShadowTable();
+        }
+
+        long[] userIds = Arrays.copyOf(replay.userIds, replay.size);
+        Arrays.sort(userIds);
+        List<ReplayedStats> chunk = new ArrayList<>(Math.min(userIds.length, WRITE_CHUNK_SIZE));
+        for (long userId : userIds) {
+            int slot = replay.slots.get(userId);
+            chunk.add(new ReplayedStats(
+                    userId,
+                    replay.wins[slot],
+                    replay.losses[slot],
+                    Math.max(1, (int) Math.round(replay.table.rating(slot))),
+                    replay.table.deviation(slot),
+                    replay.table.volatility(slot)
+            ));
+            if (chunk.size() == WRITE_CHUNK_SIZE) {
+                userMatchStatsRepository.writeReplayedStats(chunk, shadowTable);
+                chunk.clear();
+            }
+        }
+        userMatchStatsRepository.writeReplayedStats(chunk, shadowTable);
+
+        replay.resetPlayers = userMatchStatsRepository.resetOtherStats(
+                userIds,
+                shadowTable,
+                (int) RatingEngine.INITIAL_RATING,
+                RatingEngine.INITIAL_DEVIATION,
+                RatingEngine.INITIAL_VOLATILITY
+        );
+        if (shadowTable) {
+            userMatchStatsRepository.swapInShadowTable();
+        }
+    }
+
+    /**
+     * Rating state for every player seen so far, addressed by slot. Participant rows of one
+     * request arrive together and are rated when the next request starts.
+     */
+    private static final class Replay {
+        private final RatingEngine engine;
+        private final LongIntHashMap slots = new LongIntHashMap(INITIAL_PLAYERS);
+        private final RatingTable table = new RatingTable(INITIAL_PLAYERS);
+        private long[] userIds = new long[INITIAL_PLAYERS];
+        private int[] wins = new int[INITIAL_PLAYERS];
+        private int[] losses = new int[INITIAL_PLAYERS];
+        private int size;
+
+        private long requestId = -1;
+        private long[] winnerIds = new long[2];
+        private long[] loserIds = new long[2];
+        private int winnerCount;
+        private int loserCount;
+        private int[][] winnerSlots = new int[3][];
+        private int[][] loserSlots = new int[3][];
+
+        private long matches;
+        private long skippedMatches;
+        private int resetPlayers;
+
+        Replay(RatingEngine engine) {
+            this.engine = engine;
+        }
+
+        void accept(long requestId, long userId, boolean won) {
+            if (requestId != this.requestId) {
+                finish();
+                this.requestId = requestId;
+            }
+            if (won) {
+                winnerIds = append(winnerIds, winnerCount++, userId);
+            } else {
+                loserIds = append(loserIds, loserCount++, userId);
+            }
+        }
+
+        /**
+         * Rates the pending request, if any. Requests without a player on both sides are skipped.
+         */
+        void finish() {
+            if (requestId < 0) {
+                return;
+            }
+            if (winnerCount == 0 || loserCount == 0) {
+                skippedMatches++;
+            } else {
+                int[] winners = slotsOf(winnerIds, winnerCount, winnerSlots);
+                int[] losers = slotsOf(loserIds, loserCount, loserSlots);
+                engine.rate(table, winners, losers);
+                table.roundRatings(winners);
+                table.roundRatings(losers);
+                for (int slot : winners) {
+                    wins[slot]++;
+                }
+                for (int slot : losers) {
+                    losses[slot]++;
+                }
+                matches++;
+            }
+            requestId = -1;
+            winnerCount = 0;
+            loserCount = 0;
+        }
+
+        private int[] slotsOf(long[] ids, int count, int[][] buffers) {
+            int[] buffer;
+            if (count < buffers.length) {
+                if (buffers[count] == null) {
+                    buffers[count] = new int[count];
+                }
+                buffer = buffers[count];
+            } else {
+                buffer = new int[count];
+            }
+            for (int i = 0; i < count; i++) {
+                buffer[i] = slotOf(ids[i]);
+            }
+            return buffer;
+        }
+
+        private int slotOf(long userId) {
+            int slot = slots.get(userId);
+            if (slot >= 0) {
+                return slot;
+            }
+            slot = size++;
+            if (slot == userIds.length) {
+                int capacity = slot * 2;
+                userIds = Arrays.copyOf(userIds, capacity);
+                wins = Arrays.copyOf(wins, capacity);
+                losses = Arrays.copyOf(losses, capacity);
+                table.ensureCapacity(capacity);
+            }
+            slots.put(userId, slot);
+            userIds[slot] = userId;
+            table.reset(slot);
+            return slot;
+        }
+
+        private static long[] append(long[] ids, int index, long userId) {
+            long[] target = index == ids.length ? Arrays.copyOf(ids, index * 2) : ids;
+            target[index] = userId;
+            return target;
+        }
+    }
+}
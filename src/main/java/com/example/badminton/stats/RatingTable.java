@@ -0,0 +1,81 @@
+package com.example.badminton.stats;
+
+import java.util.Arrays;
+
+/**
+ * Columnar rating state addressed by slot, so engines and bulk jobs can work on many players
+ * without a per-player object.
+ */
+public final class RatingTable {
+    private double[] ratings;
+    private double[] deviations;
+    private double[] volatilities;
+
+    public RatingTable(int capacity) {
+        int size = Math.max(1, capacity);
+        this.ratings = new double[size];
+        this.deviations = new double[size];
+        this.volatilities = new double[size];
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > ratings.length) {
+            int size = Math.max(capacity, ratings.length * 2);
+            ratings = Arrays.copyOf(ratings, size);
+            deviations = Arrays.copyOf(deviations, size);
+            volatilities = Arrays.copyOf(volatilities, size);
+        }
+    }
+
+    public void set(int slot, double rating, double deviation, double volatility) {
+        ratings[slot] = rating;
+        deviations[slot] = deviation;
+        volatilities[slot] = volatility;
+    }
+
+    public void reset(int slot) {
+        set(slot, RatingEngine.INITIAL_RATING, RatingEngine.INITIAL_DEVIATION, RatingEngine.INITIAL_VOLATILITY);
+    }
+
+    public double rating(int slot) {
+        return ratings[slot];
+    }
+
+    public double deviation(int slot) {
+        return deviations[slot];
+    }
+
+    public double volatility(int slot) {
+        return volatilities[slot];
+    }
+
+    /**
+     * Rounds the slots' ratings to the whole, positive value the stats table stores. Live
+     * approvals and the replay both do this after every match, so they agree however matches
+     * are batched.
+     */
+    void roundRatings(int[] slots) {
+        for (int slot : slots) {
+            ratings[slot] = Math.max(1, Math.round(ratings[slot]));
+        }
+    }
+
+    double meanRating(int[] slots) {
+        double sum = 0;
+        for (int slot : slots) {
+            sum += ratings[slot];
+        }
+        return sum / slots.length;
+    }
+
+    /**
+     * Deviation of a team treated as one player: the root mean square of its members'.
+     */
+    double compositeDeviation(int[] slots) {
+        double sum = 0;
+        for (int slot : slots) {
+            sum += deviations[slot] * deviations[slot];
+        }
+        return Math.sqrt(sum / slots.length);
+    }
+}
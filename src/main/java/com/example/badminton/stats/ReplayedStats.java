@@ -0,0 +1,13 @@
+package com.example.badminton.stats;
+
+/**
+ * One user's stats as recomputed from match history, written in place of the stored row.
+ */
+public record ReplayedStats(
+        long userId,
+        int matchesWon,
+        int matchesLost,
+        int rating,
+        double ratingDeviation,
+        double ratingVolatility
+) {}
@@ -0,0 +1,6 @@
+package com.example.badminton.stats;
+
+/**
+ * A user's stored rating state, as read under lock before applying match results.
+ */
+public record StoredRating(Long userId, int rating, double deviation, double volatility) {}
@@ -7,14 +7,18 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.Instant;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 
 @Entity
 @Table(name = "user_match_stats")
 public class UserMatchStats {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_match_stats_id_seq")
+    @SequenceGenerator(name = "user_match_stats_id_seq", sequenceName = "user_match_stats_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -29,6 +33,17 @@ public class UserMatchStats {
     @Column(nullable = false, columnDefinition = "integer default 1000")
     private Integer rating;
 
+    @Column(nullable = false)
+    private double ratingDeviation = RatingEngine.INITIAL_DEVIATION;
+
+    @Column(nullable = false)
+    private double ratingVolatility = RatingEngine.INITIAL_VOLATILITY;
+
+    // Stamped by a trigger on every write; see V8__user_match_stats_version.sql.
+    @Generated(event = {EventType.INSERT, EventType.UPDATE})
+    @Column(nullable = false)
+    private long statsVersion;
+
     @Column(nullable = false)
     private Instant createdAt;
 
@@ -89,4 +104,24 @@ public class UserMatchStats {
     public void setRating(Integer rating) {
         this.rating = rating;
     }
+
+    public double getRatingDeviation() {
+        return ratingDeviation;
+    }
+
+    public void setRatingDeviation(double ratingDeviation) {
+        this.ratingDeviation = ratingDeviation;
+    }
+
+    public double getRatingVolatility() {
+        return ratingVolatility;
+    }
+
+    public void setRatingVolatility(double ratingVolatility) {
+        this.ratingVolatility = ratingVolatility;
+    }
+
+    public long getStatsVersion() {
+        return statsVersion;
+    }
 }
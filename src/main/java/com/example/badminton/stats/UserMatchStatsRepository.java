@@ -2,11 +2,12 @@ package com.example.badminton.stats;
 
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface UserMatchStatsRepository extends JpaRepository<UserMatchStats, Long> {
+public interface UserMatchStatsRepository extends JpaRepository<UserMatchStats, Long>, UserMatchStatsRepositoryCustom {
     Optional<UserMatchStats> findByUserId(Long userId);
 
     @Query("""
@@ -16,6 +17,53 @@ public interface UserMatchStatsRepository extends JpaRepository<UserMatchStats,
             """)
     long countBetterRanked(@Param("rating") int rating, @Param("userId") Long userId);
 
-    @Query("select s from UserMatchStats s order by s.rating desc, s.userId asc")
-    List<UserMatchStats> findAllOrdered();
+    /**
+     * Every ranked user in leaderboard order, with the display name joined in so seeding the
+     * snapshot does not go through the bounded name cache.
+     */
+    @Query("""
+            select s.userId as userId,
+                   coalesce(case when trim(u.username) = '' then null else u.username end, u.email, 'player') as displayName,
+                   coalesce(s.rating, 1000) as rating,
+                   s.matchesWon as matchesWon,
+                   s.matchesLost as matchesLost,
+                   s.statsVersion as statsVersion
+            from UserMatchStats s left join User u on u.id = s.userId
+            order by s.rating desc, s.userId asc
+            """)
+    List<LeaderboardRow> findLeaderboardRows();
+
+    @Query("""
+            select s from UserMatchStats s
+            where s.rating < :rating
+               or (s.rating = :rating and s.userId > :userId)
+            order by s.rating desc, s.userId asc
+            """)
+    List<UserMatchStats> findRankedAfter(@Param("rating") int rating, @Param("userId") Long userId, Pageable pageable);
+
+    @Query("""
+            select s from UserMatchStats s
+            where s.rating > :rating
+               or (s.rating = :rating and s.userId < :userId)
+            order by s.rating asc, s.userId desc
+            """)
+    List<UserMatchStats> findRankedBefore(@Param("rating") int rating, @Param("userId") Long userId, Pageable pageable);
+
+    @Query("select s.userId as userId, s.rating as rating, s.statsVersion as statsVersion from UserMatchStats s")
+    List<UserRating> findAllRatings();
+
+    interface LeaderboardRow {
+        Long getUserId();
+        String getDisplayName();
+        int getRating();
+        int getMatchesWon();
+        int getMatchesLost();
+        long getStatsVersion();
+    }
+
+    interface UserRating {
+        Long getUserId();
+        int getRating();
+        long getStatsVersion();
+    }
 }
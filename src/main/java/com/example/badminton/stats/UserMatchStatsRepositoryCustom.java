@@ -0,0 +1,49 @@
+package com.example.badminton.stats;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface UserMatchStatsRepositoryCustom {
+    /**
+     * Upserts every delta in a single statement, creating missing rows at {@code defaultRating},
+     * and returns the resulting rows. Each user id must appear at most once.
+     */
+    List<UserStatsChangedEvent> applyDeltas(Collection<UserStatsDelta> deltas, int defaultRating);
+
+    /**
+     * Locks the stats rows of the given users in id order until the transaction ends and returns
+     * their rating state. Users without a row are absent from the result.
+     */
+    Map<Long, StoredRating> lockRatings(Collection<Long> userIds);
+
+    /**
+     * Blocks writes to {@code user_match_stats} until the transaction ends. Reads continue and
+     * see the stored state.
+     */
+    void lockForReplay();
+
+    /**
+     * Creates an empty {@code user_match_stats_shadow} with the same columns and defaults,
+     * replacing any left behind by an earlier failed run.
+     */
+    void createShadowTable();
+
+    /**
+     * Writes one chunk of replayed rows, into the shadow table when {@code shadow} is set. Rows
+     * that already hold the replayed values are left untouched.
+     */
+    void writeReplayedStats(List<ReplayedStats> rows, boolean shadow);
+
+    /**
+     * Resets every user not in {@code replayedUserIds} to the initial stats, in the shadow
+     * table when {@code shadow} is set. Returns the number of rows written.
+     */
+    int resetOtherStats(long[] replayedUserIds, boolean shadow, int rating, double deviation, double volatility);
+
+    /**
+     * Indexes the shadow table and swaps it in for {@code user_match_stats} under an exclusive
+     * lock. Row ids and the id sequence carry over.
+     */
+    void swapInShadowTable();
+}
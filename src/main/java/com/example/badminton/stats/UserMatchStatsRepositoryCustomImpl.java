@@ -0,0 +1,234 @@
+package com.example.badminton.stats;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class UserMatchStatsRepositoryCustomImpl implements UserMatchStatsRepositoryCustom {
+    private static final String UPSERT_PREFIX = "with d(user_id, matches_won, matches_lost, rating_delta, rating_deviation, rating_volatility) as (values ";
+    private static final String UPSERT_SUFFIX = """
+            )
+            insert into user_match_stats (user_id, matches_won, matches_lost, rating, rating_deviation,
+                    rating_volatility, created_at, updated_at)
+            select d.user_id, d.matches_won, d.matches_lost, greatest(1, ? + d.rating_delta),
+                   d.rating_deviation, d.rating_volatility, now(), now()
+            from d
+            order by d.user_id
+            on conflict (user_id) do update set
+                matches_won = greatest(0, user_match_stats.matches_won) + excluded.matches_won,
+                matches_lost = greatest(0, user_match_stats.matches_lost) + excluded.matches_lost,
+                rating = greatest(1, coalesce(user_match_stats.rating, ?)
+                        + (select d.rating_delta from d where d.user_id = excluded.user_id)),
+                rating_deviation = excluded.rating_deviation,
+                rating_volatility = excluded.rating_volatility,
+                updated_at = excluded.updated_at
+            returning user_id, rating, matches_won, matches_lost, stats_version
+            """;
+    private static final String LOCK_RATINGS = """
+            select user_id, rating, rating_deviation, rating_volatility
+            from user_match_stats
+            where user_id = any(?)
+            order by user_id
+            for update
+            """;
+    private static final String REPLAYED_VALUES = "with d(user_id, matches_won, matches_lost, rating, rating_deviation, rating_volatility) as (values ";
+    private static final String WRITE_REPLAYED = """
+            )
+            insert into user_match_stats (user_id, matches_won, matches_lost, rating, rating_deviation,
+                    rating_volatility, created_at, updated_at)
+            select d.user_id, d.matches_won, d.matches_lost, d.rating, d.rating_deviation, d.rating_volatility,
+                   now(), now()
+            from d
+            on conflict (user_id) do update set
+                matches_won = excluded.matches_won,
+                matches_lost = excluded.matches_lost,
+                rating = excluded.rating,
+                rating_deviation = excluded.rating_deviation,
+                rating_volatility = excluded.rating_volatility,
+                updated_at = excluded.updated_at
+            where (user_match_stats.matches_won, user_match_stats.matches_lost, user_match_stats.rating,
+                   user_match_stats.rating_deviation, user_match_stats.rating_volatility)
+                  is distinct from (excluded.matches_won, excluded.matches_lost, excluded.rating,
+                   excluded.rating_deviation, excluded.rating_volatility)
+            """;
+    private static final String WRITE_REPLAYED_SHADOW = """
+            )
+            insert into user_match_stats_shadow (id, user_id, matches_won, matches_lost, rating, rating_deviation,
+                    rating_volatility, created_at, updated_at)
+            select coalesce(s.id, nextval('user_match_stats_id_seq')), d.user_id, d.matches_won, d.matches_lost,
+                   d.rating, d.rating_deviation, d.rating_volatility, coalesce(s.created_at, now()), now()
+            from d
+            left join user_match_stats s on s.user_id = d.user_id
+            """;
+    private static final String RESET_OTHERS = """
+            update user_match_stats s set
+                matches_won = 0,
+                matches_lost = 0,
+                rating = ?,
+                rating_deviation = ?,
+                rating_volatility = ?,
+                updated_at = now()
+            where not exists (select 1 from unnest(?) r(user_id) where r.user_id = s.user_id)
+              and (s.matches_won, s.matches_lost, s.rating, s.rating_deviation, s.rating_volatility)
+                  is distinct from (0, 0, cast(? as integer), cast(? as double precision), cast(? as double precision))
+            """;
+    private static final String RESET_OTHERS_SHADOW = """
+            insert into user_match_stats_shadow (id, user_id, matches_won, matches_lost, rating, rating_deviation,
+                    rating_volatility, created_at, updated_at)
+            select s.id, s.user_id, 0, 0, ?, ?, ?, s.created_at, now()
+            from user_match_stats s
+            where not exists (select 1 from unnest(?) r(user_id) where r.user_id = s.user_id)
+            """;
+    // Indexes and the version trigger are added after the bulk load, and take the live names once
+    // the old table is gone. The shadow rows get their versions from the copied column default.
+    private static final List<String> SWAP_IN_SHADOW = List.of(
+            "alter table user_match_stats_shadow add constraint user_match_stats_shadow_pkey primary key (id)",
+            "alter table user_match_stats_shadow add constraint uk_user_match_stats_shadow_user_id unique (user_id)",
+            "create index idx_user_match_stats_shadow_rating_user on user_match_stats_shadow (rating desc, user_id asc)",
+            "create trigger user_match_stats_version before insert or update on user_match_stats_shadow "
+                    + "for each row execute function user_match_stats_next_version()",
+            "lock table user_match_stats in access exclusive mode",
+            "alter sequence user_match_stats_id_seq owned by user_match_stats_shadow.id",
+            "drop table user_match_stats",
+            "alter table user_match_stats_shadow rename to user_match_stats",
+            "alter table user_match_stats rename constraint user_match_stats_shadow_pkey to user_match_stats_pkey",
+            "alter table user_match_stats rename constraint uk_user_match_stats_shadow_user_id to uk_user_match_stats_user_id",
+            "alter index idx_user_match_stats_shadow_rating_user rename to idx_user_match_stats_rating_user",
+            "analyze user_match_stats"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserMatchStatsRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<UserStatsChangedEvent> applyDeltas(Collection<UserStatsDelta> deltas, int defaultRating) {
+        if (deltas.isEmpty()) {
+            return List.of();
+        }
+
+        List<UserStatsDelta> ordered = new ArrayList<>(deltas);
+        ordered.sort(Comparator.comparing(UserStatsDelta::userId));
+
+        StringBuilder sql = new StringBuilder(UPSERT_PREFIX);
+        List<Object> args = new ArrayList<>(ordered.size() * 6 + 2);
+        for (int i = 0; i < ordered.size(); i++) {
+            UserStatsDelta delta = ordered.get(i);
+            sql.append(i == 0
+                    ? "(cast(? as bigint), ?, ?, ?, cast(? as double precision), cast(? as double precision))"
+                    : ", (?, ?, ?, ?, ?, ?)");
+            args.add(delta.userId());
+            args.add(delta.matchesWon());
+            args.add(delta.matchesLost());
+            args.add(delta.ratingDelta());
+            args.add(delta.ratingDeviation());
+            args.add(delta.ratingVolatility());
+        }
+        sql.append(UPSERT_SUFFIX);
+        args.add(defaultRating);
+        args.add(defaultRating);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new UserStatsChangedEvent(
+                rs.getLong("user_id"),
+                rs.getInt("rating"),
+                rs.getInt("matches_won"),
+                rs.getInt("matches_lost"),
+                rs.getLong("stats_version")
+        ), args.toArray());
+    }
+
+    @Override
+    public Map<Long, StoredRating> lockRatings(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, StoredRating> ratings = new HashMap<>(userIds.size() * 2);
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement(LOCK_RATINGS);
+                    statement.setArray(1, connection.createArrayOf("bigint", userIds.toArray()));
+                    return statement;
+                },
+                (ResultSet rs) -> {
+                    long userId = rs.getLong("user_id");
+                    ratings.put(userId, new StoredRating(
+                            userId,
+                            rs.getInt("rating"),
+                            rs.getDouble("rating_deviation"),
+                            rs.getDouble("rating_volatility")
+                    ));
+                }
+        );
+        return ratings;
+    }
+
+    @Override
+    public void lockForReplay() {
+        jdbcTemplate.execute("lock table user_match_stats in exclusive mode");
+    }
+
+    @Override
+    public void createShadowTable() {
+        jdbcTemplate.execute("drop table if exists user_match_stats_shadow");
+        jdbcTemplate.execute("create table user_match_stats_shadow (like user_match_stats including defaults)");
+    }
+
+    @Override
+    public void writeReplayedStats(List<ReplayedStats> rows, boolean shadow) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        StringBuilder sql = new StringBuilder(REPLAYED_VALUES);
+        List<Object> args = new ArrayList<>(rows.size() * 6);
+        for (int i = 0; i < rows.size(); i++) {
+            ReplayedStats row = rows.get(i);
+            sql.append(i == 0
+                    ? "(cast(? as bigint), cast(? as integer), cast(? as integer), cast(? as integer), "
+                            + "cast(? as double precision), cast(? as double precision))"
+                    : ", (?, ?, ?, ?, ?, ?)");
+            args.add(row.userId());
+            args.add(row.matchesWon());
+            args.add(row.matchesLost());
+            args.add(row.rating());
+            args.add(row.ratingDeviation());
+            args.add(row.ratingVolatility());
+        }
+        sql.append(shadow ? WRITE_REPLAYED_SHADOW : WRITE_REPLAYED);
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    @Override
+    public int resetOtherStats(long[] replayedUserIds, boolean shadow, int rating, double deviation, double volatility) {
+        Long[] userIds = new Long[replayedUserIds.length];
+        for (int i = 0; i < userIds.length; i++) {
+            userIds[i] = replayedUserIds[i];
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(shadow ? RESET_OTHERS_SHADOW : RESET_OTHERS);
+            statement.setInt(1, rating);
+            statement.setDouble(2, deviation);
+            statement.setDouble(3, volatility);
+            statement.setArray(4, connection.createArrayOf("bigint", userIds));
+            if (!shadow) {
+                statement.setInt(5, rating);
+                statement.setDouble(6, deviation);
+                statement.setDouble(7, volatility);
+            }
+            return statement;
+        });
+    }
+
+    @Override
+    public void swapInShadowTable() {
+        SWAP_IN_SHADOW.forEach(jdbcTemplate::execute);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.badminton.stats;
+
+/**
+ * Published whenever a {@code user_match_stats} row is created or changed. Listeners that keep
+ * in-memory views of the stats table consume it after the surrounding transaction commits.
+ *
+ * <p>Listeners can see events out of commit order, so each carries the row's
+ * {@code stats_version}; an event older than what a view already holds must be ignored.
+ */
+public record UserStatsChangedEvent(Long userId, int rating, int matchesWon, int matchesLost, long statsVersion) {}
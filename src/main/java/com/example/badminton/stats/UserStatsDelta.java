@@ -0,0 +1,15 @@
+package com.example.badminton.stats;
+
+/**
+ * Change to apply to one {@code user_match_stats} row: win/loss counters and the rating delta
+ * to add, applied atomically in SQL rather than read-modify-write, plus the rating deviation
+ * and volatility to store.
+ */
+public record UserStatsDelta(
+        Long userId,
+        int matchesWon,
+        int matchesLost,
+        int ratingDelta,
+        double ratingDeviation,
+        double ratingVolatility
+) {}
@@ -0,0 +1,10 @@
+package com.example.badminton.stats.dto;
+
+import java.util.List;
+
+public record LeaderboardPageResponse(
+        long version,
+        List<LeaderboardEntryResponse> entries,
+        Integer nextCursorRating,
+        Long nextCursorUserId
+) {}
@@ -0,0 +1,10 @@
+package com.example.badminton.stats.dto;
+
+public record RankIndexCheckResponse(
+        boolean consistent,
+        long indexedUsers,
+        long storedUsers,
+        int checkedUsers,
+        int mismatches,
+        boolean reseeded
+) {}
@@ -0,0 +1,11 @@
+package com.example.badminton.stats.dto;
+
+public record RatingReplayResponse(
+        String engine,
+        long matches,
+        long skippedMatches,
+        int players,
+        int resetPlayers,
+        boolean shadowTable,
+        long durationMs
+) {}
@@ -0,0 +1,47 @@
+-- Schema as previously generated by hibernate.ddl-auto=update. Existing databases are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and skip this script.
+
+create table users (
+    id bigserial primary key,
+    created_at timestamp(6) with time zone not null,
+    email varchar(255) not null,
+    password_hash varchar(255) not null,
+    username varchar(255),
+    constraint uk_users_email unique (email),
+    constraint uk_users_username unique (username)
+);
+
+create table user_match_stats (
+    id bigserial primary key,
+    created_at timestamp(6) with time zone not null,
+    matches_lost integer not null,
+    matches_won integer not null,
+    rating integer default 1000 not null,
+    updated_at timestamp(6) with time zone not null,
+    user_id bigint not null,
+    constraint uk_user_match_stats_user_id unique (user_id)
+);
+
+create table match_log_requests (
+    id bigserial primary key,
+    created_at timestamp(6) with time zone not null,
+    created_by_user_id bigint not null,
+    match_format varchar(20) not null,
+    match_name varchar(120) not null,
+    points varchar(120),
+    status varchar(20) not null,
+    updated_at timestamp(6) with time zone not null,
+    winner_side varchar(20) not null
+);
+
+create table match_log_participants (
+    id bigserial primary key,
+    created_at timestamp(6) with time zone not null,
+    decision varchar(20) not null,
+    request_id bigint not null,
+    responded_at timestamp(6) with time zone,
+    team_side varchar(20) not null,
+    updated_at timestamp(6) with time zone not null,
+    user_id bigint not null,
+    constraint uk_match_log_participants_request_user unique (request_id, user_id)
+);
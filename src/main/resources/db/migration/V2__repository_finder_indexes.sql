@@ -0,0 +1,20 @@
+-- users: findByEmail/existsByEmail and findByUsername/existsByUsername/findAllByOrderByUsernameAsc
+-- are served by the unique constraints on email and username.
+
+-- match_log_participants: findByRequestId, findByRequestIdIn and findByRequestIdAndUserId are
+-- served by the (request_id, user_id) unique constraint. The per-user index below serves
+-- findByUserIdOrderByCreatedAtDesc and drives the inbox and history joins index-only.
+create index if not exists idx_match_log_participants_user_created
+    on match_log_participants (user_id, created_at desc)
+    include (request_id, team_side, decision);
+
+-- user_match_stats: findByUserId is served by the user_id unique constraint. The ranking index
+-- matches the leaderboard order and covers findAllOrdered, findRankedAfter/Before,
+-- countBetterRanked and findAllRatings.
+create index if not exists idx_user_match_stats_rating_user
+    on user_match_stats (rating desc, user_id asc);
+
+-- match_log_requests: inbox/history sort the caller's requests by (created_at desc, id desc).
+create index if not exists idx_match_log_requests_created
+    on match_log_requests (created_at desc, id desc)
+    include (status);
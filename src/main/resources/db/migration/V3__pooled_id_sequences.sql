@@ -0,0 +1,16 @@
+-- Entities now draw ids from these sequences with Hibernate's pooled optimizer, which reserves
+-- 50 ids per nextval, so the sequences must step by 50. The pooled optimizer treats each value
+-- as the top of its block, so move every sequence far enough past the current max id.
+-- Column defaults keep working for plain SQL inserts; they just consume a whole block.
+
+alter sequence users_id_seq increment by 50;
+select setval('users_id_seq', coalesce((select max(id) from users), 0) + 50);
+
+alter sequence user_match_stats_id_seq increment by 50;
+select setval('user_match_stats_id_seq', coalesce((select max(id) from user_match_stats), 0) + 50);
+
+alter sequence match_log_requests_id_seq increment by 50;
+select setval('match_log_requests_id_seq', coalesce((select max(id) from match_log_requests), 0) + 50);
+
+alter sequence match_log_participants_id_seq increment by 50;
+select setval('match_log_participants_id_seq', coalesce((select max(id) from match_log_participants), 0) + 50);
@@ -0,0 +1,14 @@
+-- Per-user count of pending requests still waiting on that user's decision, maintained
+-- alongside match_log_participants so the inbox badge is a primary-key lookup.
+create table user_inbox_counters (
+    user_id bigint primary key,
+    pending_count integer not null default 0,
+    updated_at timestamp(6) with time zone not null
+);
+
+insert into user_inbox_counters (user_id, pending_count, updated_at)
+select p.user_id, count(*), now()
+from match_log_participants p
+join match_log_requests r on r.id = p.request_id
+where r.status = 'PENDING' and p.decision = 'PENDING'
+group by p.user_id;
@@ -0,0 +1,5 @@
+-- users: findOptionsByUsernamePattern runs `username like 'prefix%'`. The unique constraint's
+-- index only serves that under the C collation; text_pattern_ops serves it under any collation.
+create index if not exists idx_users_username_pattern
+    on users (username text_pattern_ops)
+    include (id);
@@ -0,0 +1,5 @@
+-- user_match_stats: Glicko-2 state next to the rating. Existing players start with the
+-- engine's initial deviation and volatility; the Elo engine leaves both untouched.
+alter table user_match_stats
+    add column if not exists rating_deviation double precision not null default 350,
+    add column if not exists rating_volatility double precision not null default 0.06;
@@ -0,0 +1,19 @@
+-- match_log_participants: inbox and history page on the participant row's created_at, which
+-- now always holds its request's creation time, with request_id as the tie-breaker. This index
+-- supplies that order per user, so a page reads only its own rows. It replaces the V2 per-user
+-- index, which had no request_id key and could not order ties.
+update match_log_participants p
+set created_at = r.created_at
+from match_log_requests r
+where r.id = p.request_id
+  and p.created_at <> r.created_at;
+
+create index if not exists idx_match_log_participants_user_created_request
+    on match_log_participants (user_id, created_at desc, request_id desc)
+    include (team_side, decision);
+
+drop index if exists idx_match_log_participants_user_created;
+
+-- match_log_requests: the inbox and history do not use this global index despite the V2 comment,
+-- since they filter on the participant's user first. Nothing else reads requests in this order.
+drop index if exists idx_match_log_requests_created;
@@ -0,0 +1,20 @@
+-- user_match_stats: a version stamped by the database on every insert and update, so the
+-- in-memory views can tell a late stats event from a newer write. Not owned by the table,
+-- because the replay swaps in a freshly built copy of it.
+create sequence if not exists user_match_stats_version_seq;
+
+alter table user_match_stats
+    add column if not exists stats_version bigint not null default nextval('user_match_stats_version_seq');
+
+create or replace function user_match_stats_next_version() returns trigger as $$
+begin
+    new.stats_version := nextval('user_match_stats_version_seq');
+    return new;
+end;
+$$ language plpgsql;
+
+drop trigger if exists user_match_stats_version on user_match_stats;
+
+create trigger user_match_stats_version
+    before insert or update on user_match_stats
+    for each row execute function user_match_stats_next_version();
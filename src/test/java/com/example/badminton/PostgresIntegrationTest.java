@@ -0,0 +1,37 @@
+package com.example.badminton;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Base for tests that need the real schema and driver. They run against the PostgreSQL database
+ * in {@code TEST_DB_URL} (with {@code TEST_DB_USER} and {@code TEST_DB_PASSWORD}), which must be
+ * a scratch database: Flyway migrates it and tests write to, and may replace, its tables. Without
+ * {@code TEST_DB_URL} these tests are skipped.
+ */
+@PostgresIntegrationTest.RequiresTestDatabase
+public abstract class PostgresIntegrationTest {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("DB_URL", () -> System.getenv("TEST_DB_URL"));
+        registry.add("DB_USER", () -> System.getenv().getOrDefault("TEST_DB_USER", "badminton"));
+        registry.add("DB_PASSWORD", () -> System.getenv().getOrDefault("TEST_DB_PASSWORD", "badminton"));
+        registry.add("DB_REPLICA_URL", () -> "");
+    }
+
+    // JUnit conditions are only inherited through an @Inherited annotation.
+    @Inherited
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @SpringBootTest
+    @EnabledIfEnvironmentVariable(named = "TEST_DB_URL", matches = ".+")
+    @interface RequiresTestDatabase {}
+}
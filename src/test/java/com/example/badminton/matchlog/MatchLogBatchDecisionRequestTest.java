@@ -0,0 +1,24 @@
+package com.example.badminton.matchlog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.badminton.matchlog.dto.MatchLogBatchDecisionItem;
+import com.example.badminton.matchlog.dto.MatchLogBatchDecisionRequest;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class MatchLogBatchDecisionRequestTest {
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void nullDecisionIsRejected() {
+        MatchLogBatchDecisionRequest request = new MatchLogBatchDecisionRequest(
+                Arrays.asList(new MatchLogBatchDecisionItem(1L, "ACCEPTED"), null));
+
+        assertThat(validator.validate(request))
+                .extracting(violation -> violation.getPropertyPath().toString())
+                .containsExactly("decisions[1].<list element>");
+    }
+}
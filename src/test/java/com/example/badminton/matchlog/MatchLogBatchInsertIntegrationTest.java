@@ -0,0 +1,108 @@
+package com.example.badminton.matchlog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.badminton.PostgresIntegrationTest;
+import com.example.badminton.auth.User;
+import com.example.badminton.auth.UserRepository;
+import com.example.badminton.matchlog.dto.CreateMatchLogRequest;
+import com.example.badminton.matchlog.dto.MatchLogBulkImportResponse;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class MatchLogBatchInsertIntegrationTest extends PostgresIntegrationTest {
+    private static final int MATCHES = 20;
+
+    @Autowired
+    private MatchLogService matchLogService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void importWritesRowsInBatchesWithPooledIds() {
+        List<Long> userIds = createUsers(4);
+        List<CreateMatchLogRequest> requests = new ArrayList<>();
+        for (int i = 0; i < MATCHES; i++) {
+            requests.add(new CreateMatchLogRequest(
+                    "batch " + i, "DOUBLES", "TEAM", null,
+                    List.of(userIds.get(0), userIds.get(1)),
+                    List.of(userIds.get(2), userIds.get(3))
+            ));
+        }
+
+        long requestSequenceBefore = sequenceValue("match_log_requests_id_seq");
+        long participantSequenceBefore = sequenceValue("match_log_participants_id_seq");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        MatchLogBulkImportResponse response = matchLogService.importRequests(userIds.get(0), requests);
+
+        assertThat(response.created()).isEqualTo(MATCHES);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(MATCHES * 5L);
+        // One statement per batch of up to 50 rows per table, plus a few lookups; without
+        // batching and ordered inserts this would be at least one statement per row.
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+        // Pooled ids: one sequence call per 50 rows rather than one per row.
+        assertThat(sequenceValue("match_log_requests_id_seq") - requestSequenceBefore).isLessThanOrEqualTo(50);
+        assertThat(sequenceValue("match_log_participants_id_seq") - participantSequenceBefore).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void driverRewritesBatchedInserts() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create temporary table batch_probe (id int)");
+            }
+            int[] counts;
+            try (PreparedStatement insert = connection.prepareStatement("insert into batch_probe (id) values (?)")) {
+                for (int i = 0; i < 8; i++) {
+                    insert.setInt(1, i);
+                    insert.addBatch();
+                }
+                counts = insert.executeBatch();
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("drop table batch_probe");
+            }
+            // With reWriteBatchedInserts the driver sends the eight rows as one multi-row INSERT
+            // and cannot report per-row counts.
+            assertThat(counts).containsOnly(Statement.SUCCESS_NO_INFO);
+        }
+    }
+
+    private List<Long> createUsers(int count) {
+        String suffix = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername("batch" + i + "-" + suffix);
+            user.setEmail("batch" + i + "-" + suffix + "@example.com");
+            user.setPasswordHash("x");
+            users.add(user);
+        }
+        return userRepository.saveAll(users).stream().map(User::getId).toList();
+    }
+
+    private long sequenceValue(String sequence) {
+        return jdbcTemplate.queryForObject("select last_value from " + sequence, Long.class);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.badminton.matchlog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.badminton.auth.AuthSessionService;
+import com.example.badminton.auth.UserDirectory;
+import com.example.badminton.matchlog.dto.MatchLogBulkImportItemResponse;
+import com.example.badminton.matchlog.dto.MatchLogBulkImportResponse;
+import com.example.badminton.stats.DashboardStatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+class MatchLogBulkImportTest {
+    private static final String UNKNOWN_PLAYERS_MATCH =
+            "{\"matchName\":\"a\",\"matchFormat\":\"SINGLES\",\"winnerSide\":\"TEAM\",\"teamUserIds\":[1],\"opponentUserIds\":[2]}";
+
+    private MatchLogController controller;
+
+    @BeforeEach
+    void setUp() {
+        UserDirectory userDirectory = mock(UserDirectory.class);
+        when(userDirectory.displayNames(any())).thenReturn(Map.of());
+        AuthSessionService authSessionService = mock(AuthSessionService.class);
+        when(authSessionService.requireAuthenticatedUserId("token")).thenReturn(1L);
+
+        MatchLogService service = new MatchLogService(
+                mock(MatchLogRequestRepository.class),
+                mock(MatchLogParticipantRepository.class),
+                mock(UserInboxCounterRepository.class),
+                userDirectory,
+                mock(DashboardStatsService.class),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                mock(ApplicationEventPublisher.class)
+        );
+        controller = new MatchLogController(
+                service, authSessionService, mock(MatchLogEventBroadcaster.class), new ObjectMapper(), 500);
+    }
+
+    @Test
+    void nullArrayElementIsRejectedByIndex() {
+        MatchLogBulkImportResponse response = importBody("[" + UNKNOWN_PLAYERS_MATCH + ", null, {}]");
+
+        assertThat(response.created()).isZero();
+        assertThat(response.rejected()).isEqualTo(3);
+        assertThat(response.items()).extracting(MatchLogBulkImportItemResponse::error).containsExactly(
+                "Some selected players do not exist",
+                "Match is required",
+                "matchFormat must not be blank"
+        );
+    }
+
+    @Test
+    void nullAndBlankNdjsonLines() {
+        MatchLogBulkImportResponse response = importBody(UNKNOWN_PLAYERS_MATCH + "\n\nnull\n");
+
+        assertThat(response.items()).extracting(MatchLogBulkImportItemResponse::index).containsExactly(0, 1);
+        assertThat(response.items().get(1).error()).isEqualTo("Match is required");
+    }
+
+    private MatchLogBulkImportResponse importBody(String body) {
+        return controller.bulkCreate("token", new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
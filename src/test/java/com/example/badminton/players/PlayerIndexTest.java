@@ -0,0 +1,62 @@
+package com.example.badminton.players;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.badminton.auth.UserRepository;
+import com.example.badminton.players.dto.PlayerOptionResponse;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PlayerIndexTest {
+
+    @Test
+    void usersWithoutUsernameAreListedLastAndDoNotForceReloads() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findDirectoryVersion()).thenReturn(version(3, 3));
+        when(userRepository.findAllOptions()).thenReturn(List.of(option(1L, "bob"), option(2L, null), option(3L, "alice")));
+        PlayerIndex index = new PlayerIndex(userRepository);
+
+        index.refresh();
+        index.refresh();
+
+        verify(userRepository, times(1)).findAllOptions();
+        assertThat(index.all()).containsExactly(
+                new PlayerOptionResponse(3L, "alice"),
+                new PlayerOptionResponse(1L, "bob"),
+                new PlayerOptionResponse(2L, null)
+        );
+        assertThat(index.search("a", 10)).containsExactly(new PlayerOptionResponse(3L, "alice"));
+    }
+
+    private static UserRepository.DirectoryVersion version(long count, long maxId) {
+        return new UserRepository.DirectoryVersion() {
+            @Override
+            public long getCount() {
+                return count;
+            }
+
+            @Override
+            public long getMaxId() {
+                return maxId;
+            }
+        };
+    }
+
+    private static UserRepository.PlayerOption option(Long id, String username) {
+        return new UserRepository.PlayerOption() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.badminton.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class EloRatingEngineTest {
+    private final EloRatingEngine engine = new EloRatingEngine(32);
+
+    @Test
+    void evenSinglesMovesHalfTheKFactor() {
+        RatingTable table = table(1000, 1000);
+
+        engine.rate(table, new int[] {0}, new int[] {1});
+
+        assertThat(table.rating(0)).isEqualTo(1016.0);
+        assertThat(table.rating(1)).isEqualTo(984.0);
+    }
+
+    @Test
+    void singlesIsZeroSum() {
+        RatingTable table = table(1180, 940);
+
+        engine.rate(table, new int[] {1}, new int[] {0});
+
+        assertThat(table.rating(0) + table.rating(1)).isCloseTo(1180.0 + 940.0, within(1e-9));
+        assertThat(table.rating(1)).isGreaterThan(940.0);
+    }
+
+    @Test
+    void doublesIsZeroSum() {
+        RatingTable table = table(1240, 880, 1010, 1125);
+
+        engine.rate(table, new int[] {0, 1}, new int[] {2, 3});
+
+        double total = table.rating(0) + table.rating(1) + table.rating(2) + table.rating(3);
+        assertThat(total).isCloseTo(1240.0 + 880.0 + 1010.0 + 1125.0, within(1e-9));
+        assertThat(table.rating(0) - 1240.0).isCloseTo(table.rating(1) - 880.0, within(1e-9));
+    }
+
+    private static RatingTable table(double... ratings) {
+        RatingTable table = new RatingTable(ratings.length);
+        for (int slot = 0; slot < ratings.length; slot++) {
+            table.set(slot, ratings[slot], RatingEngine.INITIAL_DEVIATION, RatingEngine.INITIAL_VOLATILITY);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.badminton.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class Glicko2RatingEngineTest {
+    private final Glicko2RatingEngine engine = new Glicko2RatingEngine(0.5);
+
+    /**
+     * The worked example in Glickman's "Example of the Glicko-2 system": a 1500/200 player beats
+     * a 1400/30 player and loses to 1550/100 and 1700/300 players in one rating period. Ratings
+     * here are centred on 1000 rather than 1500, so every rating is shifted by 500. The paper
+     * rounds its intermediate values, hence the tolerances.
+     */
+    @Test
+    void matchesThePapersWorkedExample() {
+        double shift = 1500 - RatingEngine.INITIAL_RATING;
+        double[] opponentRatings = {1400 - shift, 1550 - shift, 1700 - shift};
+        double[] opponentDeviations = {30, 100, 300};
+        double[] scores = {1, 0, 0};
+        double[] expectedG = {0.9955, 0.9531, 0.7242};
+        double[] expectedE = {0.639, 0.432, 0.303};
+
+        RatingTable table = new RatingTable(1);
+        table.set(0, 1500 - shift, 200, 0.06);
+        double mu = Glicko2RatingEngine.toMu(table.rating(0));
+
+        double inverseVariance = 0;
+        double scoreSum = 0;
+        for (int j = 0; j < scores.length; j++) {
+            double g = Glicko2RatingEngine.g(opponentDeviations[j] / Glicko2RatingEngine.SCALE);
+            double e = Glicko2RatingEngine.expectedScore(mu, Glicko2RatingEngine.toMu(opponentRatings[j]), g);
+            assertThat(g).isCloseTo(expectedG[j], within(0.0001));
+            assertThat(e).isCloseTo(expectedE[j], within(0.001));
+            inverseVariance += g * g * e * (1 - e);
+            scoreSum += g * (scores[j] - e);
+        }
+        double variance = 1 / inverseVariance;
+        assertThat(variance).isCloseTo(1.7785, within(0.001));
+        assertThat(variance * scoreSum).isCloseTo(-0.4834, within(0.001));
+
+        engine.applyPeriod(table, 0, variance, scoreSum);
+
+        assertThat(table.volatility(0)).isCloseTo(0.05999, within(0.00001));
+        assertThat(table.deviation(0)).isCloseTo(151.52, within(0.01));
+        assertThat(table.rating(0) + shift).isCloseTo(1464.06, within(0.05));
+    }
+
+    @Test
+    void doublesMovesUncertainPlayersFurther() {
+        RatingTable table = new RatingTable(4);
+        table.set(0, 1000, 60, 0.06);
+        table.set(1, 1000, 300, 0.06);
+        table.set(2, 1000, 150, 0.06);
+        table.set(3, 1000, 150, 0.06);
+
+        engine.rate(table, new int[] {0, 1}, new int[] {2, 3});
+
+        assertThat(table.rating(0)).isGreaterThan(1000.0);
+        assertThat(table.rating(1) - 1000).isGreaterThan(table.rating(0) - 1000);
+        assertThat(table.rating(2)).isLessThan(1000.0);
+        assertThat(table.deviation(1)).isLessThan(300.0);
+    }
+}
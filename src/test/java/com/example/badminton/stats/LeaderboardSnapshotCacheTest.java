@@ -0,0 +1,66 @@
+package com.example.badminton.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.badminton.auth.UserDirectory;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LeaderboardSnapshotCacheTest {
+
+    @Test
+    void staleEventsAreIgnored() {
+        UserMatchStatsRepository repository = mock(UserMatchStatsRepository.class);
+        when(repository.findLeaderboardRows()).thenReturn(List.of(row(1L, "alice", 1200, 10), row(2L, "bob", 1100, 11)));
+        LeaderboardSnapshotCache cache = new LeaderboardSnapshotCache(repository, mock(UserDirectory.class));
+        cache.seed();
+        String seededTag = cache.versionTag();
+
+        cache.onStatsChanged(new UserStatsChangedEvent(2L, 1300, 1, 0, 13));
+        String updatedTag = cache.versionTag();
+        cache.onStatsChanged(new UserStatsChangedEvent(2L, 1150, 1, 0, 12));
+        cache.onStatsChanged(new UserStatsChangedEvent(1L, 1000, 0, 1, 9));
+
+        LeaderboardSnapshot snapshot = cache.current();
+        assertThat(snapshot.get(0)).isEqualTo(new LeaderboardSnapshot.Entry(2L, "bob", 1300, 1, 0, 13));
+        assertThat(snapshot.get(1)).isEqualTo(new LeaderboardSnapshot.Entry(1L, "alice", 1200, 0, 0, 10));
+        assertThat(updatedTag).isNotEqualTo(seededTag);
+        assertThat(cache.versionTag()).isEqualTo(updatedTag);
+    }
+
+    private static UserMatchStatsRepository.LeaderboardRow row(Long userId, String name, int rating, long statsVersion) {
+        return new UserMatchStatsRepository.LeaderboardRow() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public String getDisplayName() {
+                return name;
+            }
+
+            @Override
+            public int getRating() {
+                return rating;
+            }
+
+            @Override
+            public int getMatchesWon() {
+                return 0;
+            }
+
+            @Override
+            public int getMatchesLost() {
+                return 0;
+            }
+
+            @Override
+            public long getStatsVersion() {
+                return statsVersion;
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.badminton.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LeaderboardSnapshotTest {
+
+    @Test
+    void withMergesUpdatesInRankOrder() {
+        LeaderboardSnapshot snapshot = new LeaderboardSnapshot(1, new LeaderboardSnapshot.Entry[] {
+                entry(1, 1200), entry(2, 1100), entry(3, 1000)
+        });
+
+        LeaderboardSnapshot updated = snapshot.with(List.of(entry(3, 1300), entry(4, 1100), entry(1, 900)), 4);
+
+        assertThat(userIds(updated)).containsExactly(3L, 2L, 4L, 1L);
+        assertThat(updated.version()).isEqualTo(4);
+        assertThat(updated.indexOf(1L)).isEqualTo(3);
+        assertThat(updated.indexOf(4L)).isEqualTo(2);
+        assertThat(snapshot.indexOf(4L)).isEqualTo(-1);
+        assertThat(userIds(snapshot)).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void withMatchesApplyingUpdatesOneByOne() {
+        Random random = new Random(42);
+        List<LeaderboardSnapshot.Entry> initial = new ArrayList<>();
+        for (long userId = 1; userId <= 200; userId++) {
+            initial.add(entry(userId, 900 + random.nextInt(200)));
+        }
+        initial.sort((a, b) -> a.rating() != b.rating()
+                ? Integer.compare(b.rating(), a.rating())
+                : Long.compare(a.userId(), b.userId()));
+        LeaderboardSnapshot snapshot = new LeaderboardSnapshot(1, initial.toArray(new LeaderboardSnapshot.Entry[0]));
+
+        LeaderboardSnapshot expected = snapshot;
+        List<LeaderboardSnapshot.Entry> batch = new ArrayList<>();
+        for (long userId = 150; userId <= 250; userId += 2) {
+            LeaderboardSnapshot.Entry update = entry(userId, 900 + random.nextInt(200));
+            batch.add(update);
+            expected = expected.with(List.of(update), expected.version() + 1);
+        }
+
+        LeaderboardSnapshot merged = snapshot.with(batch, expected.version());
+        assertThat(userIds(merged)).isEqualTo(userIds(expected));
+        for (LeaderboardSnapshot.Entry update : batch) {
+            assertThat(merged.get(merged.indexOf(update.userId()))).isEqualTo(update);
+        }
+    }
+
+    @Test
+    void withMatchesSortedListAcrossChunks() {
+        Random random = new Random(7);
+        Map<Long, LeaderboardSnapshot.Entry> expected = new HashMap<>();
+        for (long userId = 1; userId <= 10 * LeaderboardSnapshot.CHUNK_SIZE; userId++) {
+            expected.put(userId, entry(userId, 900 + random.nextInt(300)));
+        }
+        LeaderboardSnapshot original = new LeaderboardSnapshot(1, expected.values().toArray(new LeaderboardSnapshot.Entry[0]));
+        List<Long> originalIds = userIds(original);
+
+        LeaderboardSnapshot snapshot = original;
+        for (int i = 0; i < 5000; i++) {
+            // Mostly existing users, some new; ratings clustered so chunks grow and split.
+            long userId = 1 + random.nextInt(12 * LeaderboardSnapshot.CHUNK_SIZE);
+            LeaderboardSnapshot.Entry update = entry(userId, random.nextBoolean() ? 1000 : 900 + random.nextInt(300));
+            expected.put(userId, update);
+            snapshot = snapshot.with(List.of(update), snapshot.version() + 1);
+        }
+
+        List<LeaderboardSnapshot.Entry> sorted = new ArrayList<>(expected.values());
+        sorted.sort((a, b) -> a.rating() != b.rating()
+                ? Integer.compare(b.rating(), a.rating())
+                : Long.compare(a.userId(), b.userId()));
+        assertThat(snapshot.size()).isEqualTo(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            LeaderboardSnapshot.Entry entry = sorted.get(i);
+            assertThat(snapshot.get(i)).isEqualTo(entry);
+            assertThat(snapshot.indexOf(entry.userId())).isEqualTo(i);
+            assertThat(snapshot.indexAfter(entry.rating(), entry.userId())).isEqualTo(i + 1);
+        }
+        assertThat(snapshot.indexOf(-1L)).isEqualTo(-1);
+        assertThat(userIds(original)).isEqualTo(originalIds);
+    }
+
+    private static LeaderboardSnapshot.Entry entry(long userId, int rating) {
+        return new LeaderboardSnapshot.Entry(userId, "user" + userId, rating, 0, 0, 0);
+    }
+
+    private static List<Long> userIds(LeaderboardSnapshot snapshot) {
+        List<Long> ids = new ArrayList<>(snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            ids.add(snapshot.get(i).userId());
+        }
+        return ids;
+    }
+}
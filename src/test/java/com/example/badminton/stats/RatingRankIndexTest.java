@@ -0,0 +1,73 @@
+package com.example.badminton.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class RatingRankIndexTest {
+
+    @Test
+    void overlappingSeedsDoNotLoseUpdates() throws Exception {
+        UserMatchStatsRepository repository = mock(UserMatchStatsRepository.class);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findAllRatings()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(rating(1L, 1200, 1), rating(2L, 1100, 2));
+        }).thenReturn(List.of(rating(1L, 1200, 1), rating(2L, 1100, 2), rating(3L, 1300, 3)));
+        RatingRankIndex index = new RatingRankIndex(repository);
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(index::seed);
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> second = CompletableFuture.runAsync(index::seed);
+        index.onStatsChanged(new UserStatsChangedEvent(3L, 1300, 1, 0, 3));
+        release.countDown();
+
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertThat(index.rankOf(3L)).hasValue(1);
+        assertThat(index.rankOf(2L)).hasValue(3);
+    }
+
+    @Test
+    void staleEventsAreIgnored() {
+        UserMatchStatsRepository repository = mock(UserMatchStatsRepository.class);
+        when(repository.findAllRatings()).thenReturn(List.of(rating(1L, 1200, 10), rating(2L, 1100, 11)));
+        RatingRankIndex index = new RatingRankIndex(repository);
+        index.seed();
+
+        index.onStatsChanged(new UserStatsChangedEvent(2L, 1300, 1, 0, 13));
+        index.onStatsChanged(new UserStatsChangedEvent(2L, 1150, 1, 0, 12));
+        index.onStatsChanged(new UserStatsChangedEvent(1L, 1000, 0, 1, 9));
+
+        assertThat(index.rankOf(2L)).hasValue(1);
+        assertThat(index.rankOf(1L)).hasValue(2);
+        assertThat(index.sample(2)).containsEntry(2L, 1300).containsEntry(1L, 1200);
+    }
+
+    private static UserMatchStatsRepository.UserRating rating(Long userId, int rating, long statsVersion) {
+        return new UserMatchStatsRepository.UserRating() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public int getRating() {
+                return rating;
+            }
+
+            @Override
+            public long getStatsVersion() {
+                return statsVersion;
+            }
+        };
+    }
+}
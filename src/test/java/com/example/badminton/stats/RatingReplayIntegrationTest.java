@@ -0,0 +1,216 @@
+package com.example.badminton.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.badminton.PostgresIntegrationTest;
+import com.example.badminton.stats.dto.RatingReplayResponse;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Replays against the real schema. Other approved matches in the test database are replayed too,
+ * but the players created here only meet each other, so their results depend on these matches
+ * alone.
+ */
+class RatingReplayIntegrationTest extends PostgresIntegrationTest {
+    @Autowired
+    private RatingReplayJob ratingReplayJob;
+    @Autowired
+    private RatingEngine ratingEngine;
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+    @Autowired
+    private RatingRankIndex ratingRankIndex;
+    @Autowired
+    private LeaderboardSnapshotCache leaderboardSnapshotCache;
+    @Autowired
+    private UserMatchStatsRepository userMatchStatsRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long alice;
+    private long bob;
+    private long carol;
+    private long dave;
+    private long idle;
+    private Instant clock;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        alice = createUser("alice-" + suffix);
+        bob = createUser("bob-" + suffix);
+        carol = createUser("carol-" + suffix);
+        dave = createUser("dave-" + suffix);
+        idle = createUser("idle-" + suffix);
+        clock = Instant.now();
+
+        approvedMatch(List.of(alice), List.of(bob));
+        approvedMatch(List.of(alice), List.of(bob));
+        approvedMatch(List.of(carol, dave), List.of(alice, bob));
+        approvedMatch(List.of(bob, carol), List.of(alice, dave));
+        // Stale stats with no approved match behind them are reset by the replay.
+        jdbcTemplate.update("""
+                insert into user_match_stats (user_id, matches_won, matches_lost, rating, created_at, updated_at)
+                values (?, 7, 3, 1234, now(), now())
+                """, idle);
+    }
+
+    @Test
+    void replaysInPlace() {
+        RatingReplayResponse response = ratingReplayJob.replay(false);
+
+        assertThat(response.shadowTable()).isFalse();
+        assertReplayedStats();
+    }
+
+    @Test
+    void replaysThroughShadowTableAndHandsOverSchemaObjects() {
+        RatingReplayResponse response = ratingReplayJob.replay(true);
+
+        assertThat(response.shadowTable()).isTrue();
+        assertReplayedStats();
+
+        assertThat(jdbcTemplate.queryForObject("select to_regclass('user_match_stats_shadow')::text", String.class)).isNull();
+        assertThat(jdbcTemplate.queryForList(
+                "select conname from pg_constraint where conrelid = 'user_match_stats'::regclass", String.class))
+                .containsExactlyInAnyOrder("user_match_stats_pkey", "uk_user_match_stats_user_id");
+        assertThat(jdbcTemplate.queryForList(
+                "select indexname from pg_indexes where tablename = 'user_match_stats'", String.class))
+                .containsExactlyInAnyOrder("user_match_stats_pkey", "uk_user_match_stats_user_id", "idx_user_match_stats_rating_user");
+
+        // The id sequence now belongs to the new table, keeps its pooled increment, and still
+        // feeds Hibernate's inserts.
+        assertThat(jdbcTemplate.queryForObject(
+                "select pg_get_serial_sequence('user_match_stats', 'id')", String.class))
+                .isEqualTo("public.user_match_stats_id_seq");
+        assertThat(jdbcTemplate.queryForObject(
+                "select increment_by from pg_sequences where sequencename = 'user_match_stats_id_seq'", Long.class))
+                .isEqualTo(50L);
+        long maxId = jdbcTemplate.queryForObject("select max(id) from user_match_stats", Long.class);
+        UserMatchStats created = new UserMatchStats();
+        created.setUserId(createUser("new-" + Long.toHexString(ThreadLocalRandom.current().nextLong())));
+        assertThat(userMatchStatsRepository.saveAndFlush(created).getId()).isGreaterThan(maxId);
+    }
+
+    @Test
+    void replayKeepsRatingsFromLiveApprovals() {
+        String suffix = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        long erin = createUser("erin-" + suffix);
+        long frank = createUser("frank-" + suffix);
+        long grace = createUser("grace-" + suffix);
+        long heidi = createUser("heidi-" + suffix);
+        List<MatchResult> matches = List.of(
+                new MatchResult(List.of(erin), List.of(frank)),
+                new MatchResult(List.of(erin, grace), List.of(frank, heidi)),
+                new MatchResult(List.of(heidi), List.of(grace)),
+                new MatchResult(List.of(frank, heidi), List.of(erin, grace)),
+                new MatchResult(List.of(grace), List.of(erin))
+        );
+        // One approval on its own, then a batch, the way single and bulk decisions arrive.
+        dashboardStatsService.recordMatchResults(matches.subList(0, 1));
+        dashboardStatsService.recordMatchResults(matches.subList(1, matches.size()));
+        matches.forEach(match -> approvedMatch(match.winnerIds(), match.loserIds()));
+        List<Long> players = List.of(erin, frank, grace, heidi);
+        List<Map<String, Object>> live = statsOf(players);
+
+        ratingReplayJob.replay(false);
+
+        assertThat(statsOf(players)).isEqualTo(live);
+    }
+
+    private List<Map<String, Object>> statsOf(List<Long> userIds) {
+        return userIds.stream()
+                .map(userId -> jdbcTemplate.queryForMap("""
+                        select matches_won, matches_lost, rating, rating_deviation, rating_volatility
+                        from user_match_stats where user_id = ?
+                        """, userId))
+                .toList();
+    }
+
+    private void assertReplayedStats() {
+        Map<Long, int[]> expected = expectedStats();
+        for (Map.Entry<Long, int[]> entry : expected.entrySet()) {
+            Map<String, Object> row = jdbcTemplate.queryForMap(
+                    "select matches_won, matches_lost, rating from user_match_stats where user_id = ?", entry.getKey());
+            assertThat(List.of(row.get("matches_won"), row.get("matches_lost"), row.get("rating")))
+                    .as("stats of user %d", entry.getKey())
+                    .containsExactly(entry.getValue()[0], entry.getValue()[1], entry.getValue()[2]);
+
+            assertThat(ratingRankIndex.rankOf(entry.getKey())).isPresent();
+            LeaderboardSnapshot snapshot = leaderboardSnapshotCache.current();
+            assertThat(snapshot.get(snapshot.indexOf(entry.getKey())).rating()).isEqualTo(entry.getValue()[2]);
+        }
+
+        Map<String, Object> reset = jdbcTemplate.queryForMap(
+                "select matches_won, matches_lost, rating from user_match_stats where user_id = ?", idle);
+        assertThat(List.of(reset.get("matches_won"), reset.get("matches_lost"), reset.get("rating")))
+                .containsExactly(0, 0, (int) RatingEngine.INITIAL_RATING);
+    }
+
+    /**
+     * Wins, losses and rating per player from rating the same matches directly with the engine,
+     * rounding after each match like approvals do.
+     */
+    private Map<Long, int[]> expectedStats() {
+        long[] players = {alice, bob, carol, dave};
+        RatingTable table = new RatingTable(players.length);
+        for (int slot = 0; slot < players.length; slot++) {
+            table.reset(slot);
+        }
+        rate(table, new int[] {0}, new int[] {1});
+        rate(table, new int[] {0}, new int[] {1});
+        rate(table, new int[] {2, 3}, new int[] {0, 1});
+        rate(table, new int[] {1, 2}, new int[] {0, 3});
+        int[][] wonLost = {{2, 2}, {1, 3}, {2, 0}, {1, 1}};
+
+        return Map.of(
+                alice, stats(table, 0, wonLost[0]),
+                bob, stats(table, 1, wonLost[1]),
+                carol, stats(table, 2, wonLost[2]),
+                dave, stats(table, 3, wonLost[3])
+        );
+    }
+
+    private void rate(RatingTable table, int[] winners, int[] losers) {
+        ratingEngine.rate(table, winners, losers);
+        table.roundRatings(winners);
+        table.roundRatings(losers);
+    }
+
+    private static int[] stats(RatingTable table, int slot, int[] wonLost) {
+        return new int[] {wonLost[0], wonLost[1], (int) table.rating(slot)};
+    }
+
+    private long createUser(String username) {
+        return jdbcTemplate.queryForObject("""
+                insert into users (username, email, password_hash, created_at)
+                values (?, ?, 'x', now()) returning id
+                """, Long.class, username, username + "@example.com");
+    }
+
+    private void approvedMatch(List<Long> winners, List<Long> losers) {
+        clock = clock.plusSeconds(1);
+        Timestamp at = Timestamp.from(clock);
+        long requestId = jdbcTemplate.queryForObject("""
+                insert into match_log_requests (created_at, created_by_user_id, match_format, match_name, status, updated_at, winner_side)
+                values (?, ?, ?, 'replay', 'APPROVED', ?, 'TEAM') returning id
+                """, Long.class, at, winners.get(0), winners.size() == 1 ? "SINGLES" : "DOUBLES", at);
+
+        List<Object[]> participants = new ArrayList<>();
+        winners.forEach(userId -> participants.add(new Object[] {at, requestId, "TEAM", at, userId}));
+        losers.forEach(userId -> participants.add(new Object[] {at, requestId, "OPPONENT", at, userId}));
+        jdbcTemplate.batchUpdate("""
+                insert into match_log_participants (created_at, decision, request_id, team_side, updated_at, user_id)
+                values (?, 'ACCEPTED', ?, ?, ?, ?)
+                """, participants);
+    }
+}